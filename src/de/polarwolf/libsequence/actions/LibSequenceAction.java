@@ -24,6 +24,9 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * "sequence.resolvePlaceholder(String messageText)"</LI>
  * <LI>The action-object can get a player-list by analyzing the includes_* using
  * "sequence.performIncludes(LibSequenceConfigStep configStep)"</LI>
+ * <LI>For large player counts the same list is available as bitset-based
+ * target set using "sequence.performIncludeTargets(LibSequenceConfigStep
+ * configStep)"</LI>
  * <LI>The action-object can perform a check like the check-action by using
  * "LibSequenceCheckResult performChecks(LibSequenceConfigStep configStep)"</LI>
  * <LI>The action-object can test for an authorization token by using
@@ -160,4 +163,22 @@ public interface LibSequenceAction {
 	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigStep configStep)
 			throws LibSequenceException;
 
+	/**
+	 * Defines on which thread the step is executed. Per default all actions run on
+	 * the server thread. If the orchestrator has a worker pool, a thread-safe
+	 * action can run outside of the server thread, so it does not use up the
+	 * tick. The sequence waits until the step is done, so the order of the steps
+	 * doesn't change.
+	 *
+	 * If your action runs outside of the server thread, you must not touch Bukkit
+	 * objects (world, players, PlaceholderAPI). Please note that a cancel of the
+	 * sequence takes effect after your step has returned.
+	 *
+	 * @param configStep Step-Definition from the config
+	 * @return The thread the step should be executed on
+	 */
+	public default LibSequenceActionAffinity getThreadAffinity(LibSequenceConfigStep configStep) {
+		return LibSequenceActionAffinity.MAIN_THREAD;
+	}
+
 }
@@ -0,0 +1,27 @@
+package de.polarwolf.libsequence.actions;
+
+/**
+ * Enum of the threads an action can be executed on
+ *
+ * @see LibSequenceAction#getThreadAffinity
+ */
+public enum LibSequenceActionAffinity {
+
+	/**
+	 * The action touches the world, players or other Bukkit objects, so it must
+	 * run on the server thread. This is the default.
+	 */
+	MAIN_THREAD,
+
+	/**
+	 * The action is thread-safe and short, so it can run on the worker pool.
+	 */
+	ANY_THREAD,
+
+	/**
+	 * The action is thread-safe, but can block, e.g. writing to a file or a
+	 * database. It runs on Bukkit's async scheduler.
+	 */
+	ASYNC_IO;
+
+}
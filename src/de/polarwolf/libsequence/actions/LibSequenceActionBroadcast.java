@@ -7,6 +7,7 @@ import org.bukkit.Bukkit;
 
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -39,7 +40,14 @@ public class LibSequenceActionBroadcast extends LibSequenceActionGeneric {
 		String permission = sequence.findValueLocalizedAndResolvePlaceholder(configStep, KEYNAME_PERMISSION, null);
 
 		if ((permission != null) && (!permission.isEmpty())) {
-			Bukkit.broadcast(messageText, permission);
+			if (sequence.hasPermissionIndex()) {
+				// Take the receivers from the index instead of letting Bukkit
+				// check each subscriber
+				LibSequenceTargetSet targets = sequence.findPermissionTargets(permission);
+				targets.forEachTarget(target -> target.sendMessage(messageText));
+			} else {
+				Bukkit.broadcast(messageText, permission);
+			}
 		} else {
 			Bukkit.broadcastMessage(messageText);
 		}
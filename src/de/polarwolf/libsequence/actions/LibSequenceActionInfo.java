@@ -47,6 +47,16 @@ public class LibSequenceActionInfo extends LibSequenceActionGeneric {
 		}
 	}
 
+	// Placeholders could ask PlaceholderAPI, which is not thread-safe
+	@Override
+	public LibSequenceActionAffinity getThreadAffinity(LibSequenceConfigStep configStep) {
+		String messageText = configStep.findValue(KEYNAME_MESSAGE);
+		if ((messageText == null) || (messageText.indexOf('%') >= 0)) {
+			return LibSequenceActionAffinity.MAIN_THREAD;
+		}
+		return LibSequenceActionAffinity.ANY_THREAD;
+	}
+
 	@Override
 	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigStep configStep)
 			throws LibSequenceException {
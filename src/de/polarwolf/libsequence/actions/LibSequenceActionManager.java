@@ -5,12 +5,17 @@ import static de.polarwolf.libsequence.actions.LibSequenceActionErrors.LSAERR_AC
 import static de.polarwolf.libsequence.actions.LibSequenceActionErrors.LSAERR_JAVA_EXCEPTION;
 import static de.polarwolf.libsequence.actions.LibSequenceActionErrors.LSAERR_WRONG_INSTANCE;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import de.polarwolf.libsequence.checks.LibSequenceCheckManager;
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
 import de.polarwolf.libsequence.config.LibSequenceConfigSequence;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.includes.LibSequenceIncludeManager;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
 import de.polarwolf.libsequence.runnings.LibSequenceRunOptions;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
@@ -33,11 +38,15 @@ import de.polarwolf.libsequence.syntax.LibSequenceSyntaxManager;
 public class LibSequenceActionManager {
 
 	protected final LibSequenceSyntaxManager syntaxManager;
+	protected final LibSequenceCheckManager checkManager;
+	protected final LibSequenceIncludeManager includeManager;
 
 	protected Map<String, LibSequenceAction> actionMap = new HashMap<>();
 
 	public LibSequenceActionManager(LibSequenceOrchestrator orchestrator) {
 		this.syntaxManager = orchestrator.getSyntaxManager();
+		this.checkManager = orchestrator.getCheckManager();
+		this.includeManager = orchestrator.getIncludeManager();
 	}
 
 	public boolean hasAction(String actionName) {
@@ -102,6 +111,25 @@ public class LibSequenceActionManager {
 		}
 	}
 
+	// We expect a syntaxCheck() before, so we know the action is valid here
+	public LibSequenceConfigCompiledStep compileStep(LibSequenceConfigStep configStep)
+			throws LibSequenceActionException {
+		LibSequenceAction action = getActionByName(configStep.getActionName());
+
+		List<String> checkKeys = new ArrayList<>();
+		List<String> includeKeys = new ArrayList<>();
+		for (String keyName : configStep.getAttributeKeys()) {
+			if (checkManager.isValidCheckName(keyName)) {
+				checkKeys.add(keyName);
+			}
+			if (includeManager.isValidIncludeName(keyName)) {
+				includeKeys.add(keyName);
+			}
+		}
+
+		return new LibSequenceConfigCompiledStep(configStep, this, action, checkKeys, includeKeys);
+	}
+
 	public void validateAuthorization(LibSequenceRunOptions runOptions, LibSequenceConfigSequence configSequence)
 			throws LibSequenceActionException {
 		for (int i = 1; i <= configSequence.getSize(); i++) {
@@ -126,6 +154,12 @@ public class LibSequenceActionManager {
 	// We expect authorization is done before, so we don't need to check here
 	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigStep configStep)
 			throws LibSequenceActionException {
+		LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+		if (compiledStep != null) {
+			execute(sequence, compiledStep);
+			return;
+		}
+
 		String actionName = configStep.getActionName();
 		LibSequenceAction action = getActionByName(actionName);
 
@@ -133,6 +167,39 @@ public class LibSequenceActionManager {
 			throw new LibSequenceActionException(actionName, LSAERR_WRONG_INSTANCE, null);
 		}
 
+		performAction(sequence, action, actionName, configStep);
+	}
+
+	// Same as above, but the action is already resolved during compile
+	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigCompiledStep compiledStep)
+			throws LibSequenceActionException {
+		if (!compiledStep.isSameInstance(this)) {
+			throw new LibSequenceActionException(compiledStep.getActionName(), LSAERR_WRONG_INSTANCE, null);
+		}
+
+		performAction(sequence, compiledStep.getAction(), compiledStep.getActionName(),
+				compiledStep.getConfigStep());
+	}
+
+	// Unknown actions fail later during execute, so they can stay on the main
+	// thread
+	public LibSequenceActionAffinity getThreadAffinity(LibSequenceConfigStep configStep) {
+		try {
+			LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+			LibSequenceAction action;
+			if (compiledStep != null) {
+				action = compiledStep.getAction();
+			} else {
+				action = getActionByName(configStep.getActionName());
+			}
+			return action.getThreadAffinity(configStep);
+		} catch (Exception e) {
+			return LibSequenceActionAffinity.MAIN_THREAD;
+		}
+	}
+
+	protected void performAction(LibSequenceRunningSequence sequence, LibSequenceAction action, String actionName,
+			LibSequenceConfigStep configStep) throws LibSequenceActionException {
 		try {
 			action.execute(sequence, configStep);
 		} catch (LibSequenceActionException e) {
@@ -3,10 +3,10 @@ package de.polarwolf.libsequence.actions;
 import java.util.HashSet;
 import java.util.Set;
 
-import org.bukkit.command.CommandSender;
-
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
+import de.polarwolf.libsequence.runnings.LibSequenceRunFanout;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -34,12 +34,11 @@ public class LibSequenceActionNotify extends LibSequenceActionGeneric {
 	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigStep configStep)
 			throws LibSequenceException {
 
-		Set<CommandSender> targets = sequence.performIncludes(configStep);
+		LibSequenceTargetSet targets = sequence.performIncludeTargets(configStep);
 
-		for (CommandSender target : targets) {
-			String messageText = sequence.findValueLocalizedAndResolvePlaceholder(configStep, KEYNAME_MESSAGE, target);
-			target.sendMessage(messageText);
-		}
+		// Resolve each language variant only once
+		LibSequenceRunFanout messageFanout = new LibSequenceRunFanout(sequence, configStep, KEYNAME_MESSAGE);
+		targets.forEachTarget(target -> target.sendMessage(messageFanout.resolve(target)));
 	}
 
 }
@@ -5,11 +5,10 @@ import static de.polarwolf.libsequence.actions.LibSequenceActionErrors.LSAERR_US
 import java.util.HashSet;
 import java.util.Set;
 
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
+import de.polarwolf.libsequence.runnings.LibSequenceRunFanout;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -75,6 +74,13 @@ public class LibSequenceActionTitle extends LibSequenceActionGeneric {
 		}
 	}
 
+	protected int parseTicks(String valueText, int defaultTicks) {
+		if ((valueText != null) && (!valueText.isEmpty())) {
+			return Integer.parseUnsignedInt(valueText);
+		}
+		return defaultTicks;
+	}
+
 	@Override
 	public void execute(LibSequenceRunningSequence sequence, LibSequenceConfigStep configStep)
 			throws LibSequenceException {
@@ -82,32 +88,20 @@ public class LibSequenceActionTitle extends LibSequenceActionGeneric {
 		String sStay = configStep.findValue(KEYNAME_STAY);
 		String sFadeout = configStep.findValue(KEYNAME_FADEOUT);
 
-		int iFadein = 10;
-		int iStay = 70;
-		int iFadeout = 20;
+		final int iFadein = parseTicks(sFadein, 10);
+		final int iStay = parseTicks(sStay, 70);
+		final int iFadeout = parseTicks(sFadeout, 20);
 
-		if ((sFadein != null) && (!sFadein.isEmpty())) {
-			iFadein = Integer.parseUnsignedInt(sFadein);
-		}
+		LibSequenceTargetSet targets = sequence.performIncludeTargets(configStep);
 
-		if ((sStay != null) && (!sStay.isEmpty())) {
-			iStay = Integer.parseUnsignedInt(sStay);
-		}
-
-		if ((sFadeout != null) && (!sFadeout.isEmpty())) {
-			iFadeout = Integer.parseUnsignedInt(sFadeout);
-		}
-
-		Set<CommandSender> targets = sequence.performIncludes(configStep);
-
-		for (CommandSender target : targets) {
-			if (target instanceof Player player) {
-				String sTitle = sequence.findValueLocalizedAndResolvePlaceholder(configStep, KEYNAME_TITLE, target);
-				String sSubtitle = sequence.findValueLocalizedAndResolvePlaceholder(configStep, KEYNAME_SUBTITLE,
-						target);
-				player.sendTitle(sTitle, sSubtitle, iFadein, iStay, iFadeout);
-			}
-		}
+		// Resolve each language variant only once
+		LibSequenceRunFanout titleFanout = new LibSequenceRunFanout(sequence, configStep, KEYNAME_TITLE);
+		LibSequenceRunFanout subtitleFanout = new LibSequenceRunFanout(sequence, configStep, KEYNAME_SUBTITLE);
+		targets.forEachPlayer(player -> {
+			String sTitle = titleFanout.resolve(player);
+			String sSubtitle = subtitleFanout.resolve(player);
+			player.sendTitle(sTitle, sSubtitle, iFadein, iStay, iFadeout);
+		});
 	}
 
 }
@@ -1,5 +1,6 @@
 package de.polarwolf.libsequence.actions;
 
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 
 /**
@@ -19,6 +20,11 @@ public final class LibSequenceActionValidator {
 		actionManager.validateSyntax(configStep);
 	}
 
+	public LibSequenceConfigCompiledStep compileStep(LibSequenceConfigStep configStep)
+			throws LibSequenceActionException {
+		return actionManager.compileStep(configStep);
+	}
+
 	public boolean isSameInstance(LibSequenceActionValidator actionValidatorToCompare) {
 		return (actionValidatorToCompare.actionManager == this.actionManager);
 	}
@@ -3,6 +3,8 @@ package de.polarwolf.libsequence.api;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
@@ -131,6 +133,59 @@ public final class LibSequenceController {
 		}
 	}
 
+	/**
+	 * Execute the sequence with the given name, like execute. But if all running
+	 * slots are in use, the start waits in the admission queue until another
+	 * sequence has ended.
+	 *
+	 * @param sequenceName  Name of the sequence which should be started
+	 * @param initiator     CommandSender who should be assigned as the initiator
+	 *                      of the sequence (can be NULL).
+	 * @param priority      Queued starts with a higher priority are admitted
+	 *                      first
+	 * @param timeoutMillis How long the start may wait for a free slot, 0 to use
+	 *                      the configured default
+	 * @return A future which completes with OK or the error message
+	 */
+	public CompletableFuture<String> executeQueued(String sequenceName, CommandSender initiator, int priority,
+			long timeoutMillis) {
+		LibSequenceRunOptions runOptions = new LibSequenceRunOptions();
+		if (initiator != null) {
+			runOptions.setInitiator(initiator);
+		}
+		runOptions.setLogger(logger);
+		return directoryAPI.executeQueued(ownerToken, sequenceName, runOptions, priority, timeoutMillis)
+				.handle((runningSequence, e) -> (e == null) ? OK : getErrorMessage(e));
+	}
+
+	/**
+	 * Thread-safe variant of execute. The sequence is started on the server thread
+	 * at the beginning of the next tick.
+	 *
+	 * @param sequenceName Name of the sequence to start
+	 * @param initiator    The initiator of the sequence, can be NULL
+	 * @return A future which completes with OK or the error message. The future
+	 *         completes on the server thread.
+	 */
+	public CompletableFuture<String> submit(String sequenceName, CommandSender initiator) {
+		LibSequenceRunOptions runOptions = new LibSequenceRunOptions();
+		if (initiator != null) {
+			runOptions.setInitiator(initiator);
+		}
+		runOptions.setLogger(logger);
+		return directoryAPI.submit(ownerToken, sequenceName, runOptions)
+				.handle((runningSequence, e) -> (e == null) ? OK : getErrorMessage(e));
+	}
+
+	// A failed start is an expected result here, so only the message is returned.
+	// A dependent stage wraps the error into a CompletionException.
+	protected String getErrorMessage(Throwable e) {
+		if ((e instanceof CompletionException) && (e.getCause() != null)) {
+			return e.getCause().getMessage();
+		}
+		return e.getMessage();
+	}
+
 	/**
 	 * Cancel all running sequences with the given name. If more than one instance
 	 * is running at the same time, all of them are cancelled. The return value is
@@ -19,6 +19,12 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public interface LibSequenceCheck {
 
+	// Cost hints, as rough time of one call in nanoseconds
+	public static final long COST_PINNED = 0;
+	public static final long COST_CHEAP = 1000;
+	public static final long COST_DEFAULT = 10000;
+	public static final long COST_EXPENSIVE = 100000;
+
 	/**
 	 * Performs a check. The checkName is given because the object itself is not
 	 * aware of the name he is registered with. The "valueText" is the string to
@@ -37,4 +43,16 @@ public interface LibSequenceCheck {
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException;
 
+	/**
+	 * Give the CheckManager a hint how expensive this check is, so cheap checks
+	 * can be done before expensive ones. The hint is used until enough calls are
+	 * measured. A check returning COST_PINNED is always done first, e.g. because
+	 * it is a boundary check which must run before any placeholder is resolved.
+	 *
+	 * @return Estimated time of one call in nanoseconds
+	 */
+	public default long getCostHint() {
+		return COST_DEFAULT;
+	}
+
 }
@@ -1,12 +1,14 @@
 package de.polarwolf.libsequence.checks;
 
+import de.polarwolf.libsequence.conditions.LibSequenceConditionExpression;
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
  * This check tests if the value is TRUE (by testing for the strings "yes" or
  * "true") or is a numeric value greater or equal 1. This check is intended to
- * use in conjunction with placeholders.
+ * use in conjunction with placeholders. The value can also be an expression,
+ * e.g. "%player_level% &gt;= 10 &amp;&amp; %player_world% != world_nether".
  *
  */
 public class LibSequenceCheckCondition implements LibSequenceCheck {
@@ -14,6 +16,18 @@ public class LibSequenceCheckCondition implements LibSequenceCheck {
 	@Override
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException {
+		LibSequenceConditionExpression expression = runningSequence.compileCondition(valueText);
+		if (expression != null) {
+			// The placeholders are resolved inside the expression, so a resolved
+			// value containing blanks or quotes does not break the syntax
+			if (runningSequence.resolveCondition(runningSequence.evaluateCondition(expression,
+					template -> runningSequence.resolvePlaceholder(checkName, template)))) {
+				return "";
+			} else {
+				return "Does not resolve to TRUE: " + valueText;
+			}
+		}
+
 		valueText = runningSequence.resolvePlaceholder(checkName, valueText);
 		if (runningSequence.resolveCondition(valueText)) {
 			return "";
@@ -16,6 +16,11 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceCheckList implements LibSequenceCheck {
 
+	@Override
+	public long getCostHint() {
+		return COST_CHEAP;
+	}
+
 	@Override
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException {
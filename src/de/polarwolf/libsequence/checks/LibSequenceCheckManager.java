@@ -5,10 +5,16 @@ import static de.polarwolf.libsequence.checks.LibSequenceCheckErrors.LSKERR_CHEC
 import static de.polarwolf.libsequence.checks.LibSequenceCheckErrors.LSKERR_JAVA_EXCEPTION;
 import static de.polarwolf.libsequence.checks.LibSequenceCheckErrors.LSKERR_SYNTAX_ERROR;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
@@ -18,6 +24,15 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * Manages the possible checks. Checks validates environmental parameters, if
  * they are not met, the sequence will stop.
  *
+ * The checks of a step are done cheapest first, and the first failed check
+ * ends the evaluation. The order is based on the cost hint of the check, and
+ * once enough calls are measured, on the average time and failure rate. The
+ * measured values are available as statistics per check.
+ *
+ * Checks read the world and the players, so they must only be performed on the
+ * server thread. For this reason the statistics and the cached check orders
+ * are not synchronized.
+ *
  * @see de.polarwolf.libsequence.checks.LibSequenceCheck LibSequenceCheck
  * @see <A href="https://github.com/Kirastur/LibSequence/wiki/Checks">Checks</A>
  *      (WIKI)
@@ -29,7 +44,21 @@ public class LibSequenceCheckManager {
 
 	public static final String CHECK_PREFIX = "check_";
 
+	// Number of measured calls before the statistics replace the cost hint
+	public static final int MIN_SAMPLES = 20;
+
+	// Number of evaluations of a step before its check order is computed again
+	public static final int REORDER_INTERVAL = 100;
+
+	// Failure rate assumed as long as there are not enough measured calls
+	public static final double DEFAULT_FAILURE_RATE = 0.5;
+	public static final double MIN_FAILURE_RATE = 0.01;
+
 	protected Map<String, LibSequenceCheck> checkMap = new HashMap<>();
+	protected Map<String, LibSequenceCheckStatistics> checkStatistics = new HashMap<>();
+
+	// The compiled steps are dropped on reload, so don't keep them alive here
+	protected Map<LibSequenceConfigCompiledStep, CheckOrder> checkOrders = new WeakHashMap<>();
 
 	public LibSequenceCheckManager(LibSequenceOrchestrator orchestrator) {
 		// Prevent from starting the Manager without having an orchestrator
@@ -43,6 +72,25 @@ public class LibSequenceCheckManager {
 			throw new LibSequenceCheckException(checkName, LSKERR_SYNTAX_ERROR, null);
 		}
 		checkMap.put(checkName, check);
+		checkStatistics.put(checkName, new LibSequenceCheckStatistics());
+	}
+
+	/**
+	 * Get the statistics of a check, or NULL if the check does not exist
+	 */
+	public LibSequenceCheckStatistics getCheckStatistics(String checkName) {
+		return checkStatistics.get(checkName);
+	}
+
+	public Map<String, LibSequenceCheckStatistics> getAllCheckStatistics() {
+		return Collections.unmodifiableMap(checkStatistics);
+	}
+
+	public void resetCheckStatistics() {
+		for (LibSequenceCheckStatistics statistics : checkStatistics.values()) {
+			statistics.reset();
+		}
+		checkOrders.clear();
 	}
 
 	public Set<String> getCheckNames() {
@@ -95,8 +143,24 @@ public class LibSequenceCheckManager {
 				valueText = valueText.substring(1);
 			}
 
-			String checkResult = check.performCheck(checkName, valueText, runningSequence);
+			LibSequenceCheckStatistics statistics = checkStatistics.get(checkName);
+			long startNanos = System.nanoTime();
+			String checkResult;
+			try {
+				checkResult = check.performCheck(checkName, valueText, runningSequence);
+			} catch (Exception e) {
+				if (statistics != null) {
+					statistics.addError(System.nanoTime() - startNanos);
+				}
+				throw e;
+			}
+			if (checkResult == null) {
+				checkResult = "";
+			}
 			checkResult = invertResult(checkResult, isInverse);
+			if (statistics != null) {
+				statistics.addCall(System.nanoTime() - startNanos, !checkResult.isEmpty());
+			}
 
 			if (!checkResult.isEmpty()) {
 				runningSequence.onCheckFailed(checkName, checkResult);
@@ -114,8 +178,60 @@ public class LibSequenceCheckManager {
 		}
 	}
 
+	// Expected cost of a check until the first failure, lower is better.
+	// Unknown checks are sorted first, so the error is reported at once.
+	protected double getCheckScore(String checkName) {
+		LibSequenceCheck check = checkMap.get(checkName);
+		if (check == null) {
+			return -1;
+		}
+		long costHint = check.getCostHint();
+		if (costHint <= LibSequenceCheck.COST_PINNED) {
+			return 0;
+		}
+
+		double cost = costHint;
+		double failureRate = DEFAULT_FAILURE_RATE;
+		LibSequenceCheckStatistics statistics = checkStatistics.get(checkName);
+		if ((statistics != null) && (statistics.getNumberOfCalls() >= MIN_SAMPLES)) {
+			cost = Math.max(statistics.getAverageNanos(), 1);
+			failureRate = statistics.getFailureRate();
+		}
+		return cost / Math.max(failureRate, MIN_FAILURE_RATE);
+	}
+
+	protected String[] orderChecks(List<String> checkKeys) {
+		Map<String, Double> scores = new HashMap<>();
+		for (String checkName : checkKeys) {
+			scores.put(checkName, getCheckScore(checkName));
+		}
+		String[] orderedKeys = checkKeys.toArray(new String[0]);
+		Arrays.sort(orderedKeys, Comparator.comparingDouble(scores::get));
+		return orderedKeys;
+	}
+
+	protected String[] findCheckOrder(LibSequenceConfigCompiledStep compiledStep) {
+		CheckOrder checkOrder = checkOrders.get(compiledStep);
+		if ((checkOrder == null) || (checkOrder.remainingEvaluations <= 0)) {
+			checkOrder = new CheckOrder(orderChecks(compiledStep.getCheckKeys()));
+			checkOrders.put(compiledStep, checkOrder);
+		}
+		checkOrder.remainingEvaluations = checkOrder.remainingEvaluations - 1;
+		return checkOrder.orderedKeys;
+	}
+
 	public boolean performChecks(LibSequenceRunningSequence runningSequence, LibSequenceConfigStep configStep)
 			throws LibSequenceCheckException {
+		LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+		if (compiledStep != null) {
+			for (String keyName : findCheckOrder(compiledStep)) {
+				if (!singleCheck(keyName, runningSequence, configStep)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 		for (String keyName : configStep.getAttributeKeys()) {
 			if (isValidCheckName(keyName) && (!singleCheck(keyName, runningSequence, configStep))) {
 				return false;
@@ -124,4 +240,15 @@ public class LibSequenceCheckManager {
 		return true;
 	}
 
+	protected static final class CheckOrder {
+
+		private final String[] orderedKeys;
+		private int remainingEvaluations = REORDER_INTERVAL;
+
+		private CheckOrder(String[] orderedKeys) {
+			this.orderedKeys = orderedKeys;
+		}
+
+	}
+
 }
@@ -3,6 +3,7 @@ package de.polarwolf.libsequence.checks;
 import static de.polarwolf.libsequence.checks.LibSequenceCheckErrors.LSKERR_NO_INITIATOR;
 
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
@@ -16,6 +17,11 @@ public class LibSequenceCheckOperator implements LibSequenceCheck {
 
 	public static final String AUTOOP = "luckperms.autoop";
 
+	@Override
+	public long getCostHint() {
+		return COST_CHEAP;
+	}
+
 	@Override
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException {
@@ -30,13 +36,16 @@ public class LibSequenceCheckOperator implements LibSequenceCheck {
 			throw new LibSequenceCheckException(checkName, LSKERR_NO_INITIATOR, null);
 		}
 
-		// Option 1: Classical OP
-		boolean isOP = initiator.isOp();
-
-		// Option 2: LuckPerms autoop
-		boolean isAutoOP = initiator.hasPermission(AUTOOP);
+		boolean isOperator;
+		if (initiator instanceof Player player) {
+			isOperator = runningSequence.getPlayerState(player).isOperator();
+		} else {
+			// Option 1: Classical OP
+			// Option 2: LuckPerms autoop
+			isOperator = initiator.isOp() || initiator.hasPermission(AUTOOP);
+		}
 
-		if (isOP || isAutoOP) {
+		if (isOperator) {
 			return "";
 		} else {
 			return "Is not a server operator: " + initiator.getName();
@@ -9,6 +9,7 @@ import org.bukkit.entity.Player;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.integrations.LibSequenceIntegrationWorldguard;
+import de.polarwolf.libsequence.integrations.LibSequenceIntegrationWorldguardIndex;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -21,8 +22,33 @@ public class LibSequenceCheckRegion implements LibSequenceCheck {
 
 	protected final LibSequenceIntegrationWorldguard integrationWorldguard;
 
+	protected final LibSequenceIntegrationWorldguardIndex integrationWorldguardIndex;
+
 	public LibSequenceCheckRegion(LibSequenceIntegrationWorldguard integrationWorldguard) {
+		this(integrationWorldguard, null);
+	}
+
+	/**
+	 * @param integrationWorldguardIndex The region index, or NULL to test the
+	 *                                   player position on each call
+	 */
+	public LibSequenceCheckRegion(LibSequenceIntegrationWorldguard integrationWorldguard,
+			LibSequenceIntegrationWorldguardIndex integrationWorldguardIndex) {
 		this.integrationWorldguard = integrationWorldguard;
+		this.integrationWorldguardIndex = integrationWorldguardIndex;
+	}
+
+	protected boolean testPlayer(Player player, String regionName, LibSequenceRunningSequence runningSequence)
+			throws LibSequenceException {
+		if (integrationWorldguardIndex != null) {
+			return integrationWorldguardIndex.testPlayer(player, regionName);
+		}
+		return integrationWorldguard.testPlayerState(runningSequence.getPlayerState(player), regionName);
+	}
+
+	@Override
+	public long getCostHint() {
+		return COST_EXPENSIVE;
 	}
 
 	@Override
@@ -42,7 +68,7 @@ public class LibSequenceCheckRegion implements LibSequenceCheck {
 		}
 		Player player = (Player) initiator;
 
-		if (integrationWorldguard.testPlayer(player, valueText)) {
+		if (testPlayer(player, valueText, runningSequence)) {
 			return "";
 		} else {
 			return initiator.getName() + " is outside of: " + valueText;
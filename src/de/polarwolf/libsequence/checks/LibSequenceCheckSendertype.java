@@ -23,6 +23,11 @@ public class LibSequenceCheckSendertype implements LibSequenceCheck {
 	public static final String TYPE_CONSOLE = "console";
 	public static final String TYPE_PLAYER = "player";
 
+	@Override
+	public long getCostHint() {
+		return COST_PINNED;
+	}
+
 	@Override
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException {
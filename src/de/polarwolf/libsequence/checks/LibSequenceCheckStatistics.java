@@ -0,0 +1,91 @@
+package de.polarwolf.libsequence.checks;
+
+/**
+ * Timing and failure counters of one check. Besides the plain totals, a moving
+ * average of the cost and the failure rate is kept, so the CheckManager can
+ * follow changes in the behavior of a check.
+ *
+ * The statistics are only updated from the server thread.
+ */
+public class LibSequenceCheckStatistics {
+
+	// Weight of the newest sample in the moving averages
+	public static final double SMOOTHING = 0.1;
+
+	private long numberOfCalls = 0;
+	private long numberOfFailures = 0;
+	private long numberOfErrors = 0;
+	private long totalNanos = 0;
+	private double averageNanos = 0;
+	private double averageFailureRate = 0;
+
+	public long getNumberOfCalls() {
+		return numberOfCalls;
+	}
+
+	public long getNumberOfFailures() {
+		return numberOfFailures;
+	}
+
+	/**
+	 * Get the number of calls which have ended with an exception
+	 */
+	public long getNumberOfErrors() {
+		return numberOfErrors;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	/**
+	 * Get the moving average of the time needed for one call
+	 */
+	public double getAverageNanos() {
+		return averageNanos;
+	}
+
+	/**
+	 * Get the moving average of the failure rate, between 0.0 and 1.0
+	 */
+	public double getFailureRate() {
+		return averageFailureRate;
+	}
+
+	public void addCall(long nanos, boolean isFailed) {
+		double failed = isFailed ? 1.0 : 0.0;
+		if (numberOfCalls == 0) {
+			averageNanos = nanos;
+			averageFailureRate = failed;
+		} else {
+			averageNanos = averageNanos + SMOOTHING * (nanos - averageNanos);
+			averageFailureRate = averageFailureRate + SMOOTHING * (failed - averageFailureRate);
+		}
+		numberOfCalls = numberOfCalls + 1;
+		totalNanos = totalNanos + nanos;
+		if (isFailed) {
+			numberOfFailures = numberOfFailures + 1;
+		}
+	}
+
+	public void addError(long nanos) {
+		numberOfErrors = numberOfErrors + 1;
+		totalNanos = totalNanos + nanos;
+	}
+
+	public void reset() {
+		numberOfCalls = 0;
+		numberOfFailures = 0;
+		numberOfErrors = 0;
+		totalNanos = 0;
+		averageNanos = 0;
+		averageFailureRate = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("calls=%d, failures=%d, errors=%d, avgNanos=%.0f, failureRate=%.2f", numberOfCalls,
+				numberOfFailures, numberOfErrors, averageNanos, averageFailureRate);
+	}
+
+}
@@ -17,6 +17,11 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceCheckWorld implements LibSequenceCheck {
 
+	@Override
+	public long getCostHint() {
+		return COST_CHEAP;
+	}
+
 	@Override
 	public String performCheck(String checkName, String valueText, LibSequenceRunningSequence runningSequence)
 			throws LibSequenceException {
@@ -35,7 +40,7 @@ public class LibSequenceCheckWorld implements LibSequenceCheck {
 		}
 		Player player = (Player) initiator;
 
-		if (player.getWorld().getName().equals(valueText)) {
+		if (runningSequence.getPlayerState(player).isInWorld(valueText)) {
 			return "";
 		} else {
 			return initiator.getName() + " stays not in world: " + valueText;
@@ -14,12 +14,23 @@ import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_R
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_SEQUENCE_CANCELLED;
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_SEQUENCE_NAME_MISSING;
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_SEQUENCE_STARTED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_ADMITTED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_BUDGET;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_DEFERRED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_EXHAUSTED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_QUEUED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_QUOTA;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_QUOTA_REJECTED;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_RUNNING;
+import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_STATUS_SECTION;
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_TOO_MANY_PARAMETERS;
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_UNKNOWN_OPTION;
 import static de.polarwolf.libsequence.commands.LibSequenceCommandMessages.MSG_UNKNOWN_SEQUENCE;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -30,6 +41,8 @@ import de.polarwolf.libsequence.api.LibSequenceAPI;
 import de.polarwolf.libsequence.api.LibSequenceController;
 import de.polarwolf.libsequence.api.LibSequenceProvider;
 import de.polarwolf.libsequence.main.Main;
+import de.polarwolf.libsequence.runnings.LibSequenceRunQuotaOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunStatus;
 
 /**
  * Minecraft "/sequence" command handling
@@ -45,6 +58,7 @@ public class LibSequenceCommand implements CommandExecutor {
 	public static final String CMD_LIST = "list";
 	public static final String CMD_INFO = "info";
 	public static final String CMD_RELOAD = "reload";
+	public static final String CMD_STATUS = "status";
 	public static final String CMD_HELP = "help";
 
 	protected final Main main;
@@ -133,6 +147,7 @@ public class LibSequenceCommand implements CommandExecutor {
 		cmds.add(CMD_LIST);
 		cmds.add(CMD_INFO);
 		cmds.add(CMD_RELOAD);
+		cmds.add(CMD_STATUS);
 		return cmds;
 	}
 
@@ -254,6 +269,48 @@ public class LibSequenceCommand implements CommandExecutor {
 		}
 	}
 
+	protected void cmdStatus(CommandSender sender, String[] args) {
+		if (!checkNrOfArguments1(sender, args.length)) {
+			return;
+		}
+		LibSequenceAPI lsAPI = LibSequenceProvider.getAPI();
+		LibSequenceRunStatus runStatus = lsAPI.getSequencer().getRunStatus();
+		printMessage(sender, MSG_STATUS_RUNNING,
+				runStatus.getRunningSequences() + " / " + runStatus.getMaxRunningSequences());
+		if (runStatus.getBudgetNanos() > 0) {
+			printMessage(sender, MSG_STATUS_BUDGET, (runStatus.getBudgetNanos() / 1000) + " \u00B5s");
+			printMessage(sender, MSG_STATUS_EXHAUSTED, Long.toString(runStatus.getExhaustedTicks()));
+			printMessage(sender, MSG_STATUS_DEFERRED, runStatus.getDeferrals() + " (" + runStatus.getDeferredSteps()
+					+ " / " + runStatus.getMaxDeferredSteps() + ")");
+		}
+		if (runStatus.getQueueSize() > 0) {
+			printMessage(sender, MSG_STATUS_QUEUED, runStatus.getQueuedStarts() + " / "
+					+ runStatus.getMaxQueuedStarts() + " / " + runStatus.getQueueSize());
+			printMessage(sender, MSG_STATUS_ADMITTED, runStatus.getAdmittedStarts() + " / "
+					+ runStatus.getTimedOutStarts() + " / " + runStatus.getRejectedStarts());
+		}
+		LibSequenceRunQuotaOptions quotaOptions = runStatus.getQuotaOptions();
+		if (quotaOptions != null) {
+			printMessage(sender, MSG_STATUS_QUOTA, formatQuota(quotaOptions.maxPerRunner()) + " / "
+					+ formatQuota(quotaOptions.maxPerSection()) + " / " + formatQuota(quotaOptions.maxPerSequence()));
+			printMessage(sender, MSG_STATUS_QUOTA_REJECTED, Long.toString(runStatus.getQuotaRejections()));
+			Set<String> sectionNames = new TreeSet<>(runStatus.getRunningBySection().keySet());
+			sectionNames.addAll(quotaOptions.sectionQuotas().keySet());
+			for (String sectionName : sectionNames) {
+				int runningSequences = runStatus.getRunningBySection().getOrDefault(sectionName, 0);
+				printMessage(sender, MSG_STATUS_SECTION, sectionName + " " + runningSequences + " / "
+						+ formatQuota(quotaOptions.findSectionQuota(sectionName)));
+			}
+		}
+	}
+
+	protected String formatQuota(int quota) {
+		if (quota <= 0) {
+			return "-";
+		}
+		return Integer.toString(quota);
+	}
+
 	@Override
 	public boolean onCommand(CommandSender sender, Command cmd, String label, String[] args) {
 		if (getController() == null) {
@@ -297,6 +354,10 @@ public class LibSequenceCommand implements CommandExecutor {
 			cmdReload(sender, args);
 			return true;
 		}
+		if (commandAction.equalsIgnoreCase(CMD_STATUS)) {
+			cmdStatus(sender, args);
+			return true;
+		}
 		return false;
 	}
 
@@ -24,6 +24,16 @@ public enum LibSequenceCommandMessages {
 	MSG_SEQUENCE_CANCELLED("Sequence cancelled"),
 	MSG_RELOAD("Reload successfull"),
 
+	MSG_STATUS_RUNNING("Running sequences:"),
+	MSG_STATUS_BUDGET("Time budget per tick:"),
+	MSG_STATUS_EXHAUSTED("Ticks with exceeded budget:"),
+	MSG_STATUS_DEFERRED("Steps carried over to the next tick (now / max):"),
+	MSG_STATUS_QUEUED("Starts waiting for a free slot (now / max / size):"),
+	MSG_STATUS_ADMITTED("Queued starts admitted / timed out / rejected:"),
+	MSG_STATUS_QUOTA("Quota per starter / section / sequence:"),
+	MSG_STATUS_QUOTA_REJECTED("Starts rejected by quota:"),
+	MSG_STATUS_SECTION("Running sequences of section:"),
+
 	MSG_HELP("Possible options are:");
 
 	private final String messageText;
@@ -0,0 +1,31 @@
+package de.polarwolf.libsequence.conditions;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
+
+/**
+ * Everything a condition expression needs during one evaluation
+ */
+final class LibSequenceConditionContext {
+
+	private final LibSequenceConditionManager conditionManager;
+	private final LibSequenceConditionResolver resolver;
+	private final LibSequenceRunningSequence runningSequence;
+
+	LibSequenceConditionContext(LibSequenceConditionManager conditionManager, LibSequenceConditionResolver resolver,
+			LibSequenceRunningSequence runningSequence) {
+		this.conditionManager = conditionManager;
+		this.resolver = resolver;
+		this.runningSequence = runningSequence;
+	}
+
+	String resolve(LibSequencePlaceholderTemplate template) throws LibSequenceException {
+		return resolver.resolve(template);
+	}
+
+	boolean isTrue(LibSequenceConditionValue value) {
+		return conditionManager.isTrue(value, runningSequence);
+	}
+
+}
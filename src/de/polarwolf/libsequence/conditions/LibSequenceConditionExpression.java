@@ -0,0 +1,74 @@
+package de.polarwolf.libsequence.conditions;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+/**
+ * A condition text compiled into a syntax tree. The text is parsed only once,
+ * the evaluation just walks through the tree and does not throw exceptions for
+ * unexpected values. Placeholders are resolved during evaluation, so the same
+ * expression can be evaluated for different players.
+ *
+ * The expression language knows:
+ * <UL>
+ * <LI>Numbers (e.g. 10, -0.5), the words yes/true/no/false, other words
+ * (e.g. world_nether, my-world) and quoted texts (e.g. 'Super Admin')</LI>
+ * <LI>Placeholders (e.g. %player_level%), also inside quoted texts</LI>
+ * <LI>Comparisons: == (or =), !=, &lt;, &lt;=, &gt;, &gt;=, contains,
+ * startswith, endswith</LI>
+ * <LI>Arithmetic: + - * /, where + concatenates if one side is not a
+ * number. A - or / between two word characters is part of the word, so use
+ * spaces for arithmetic on placeholders or words.</LI>
+ * <LI>Logic: &amp;&amp;, ||, ! and brackets</LI>
+ * </UL>
+ * Two values are compared as numbers if both are numeric, otherwise as text.
+ *
+ * @see de.polarwolf.libsequence.conditions.LibSequenceConditionManager#compileCondition
+ *      ConditionManager.compileCondition
+ * @see <A href=
+ *      "https://github.com/Kirastur/LibSequence/wiki/Conditions">Conditions</A>
+ *      (WIKI)
+ */
+public final class LibSequenceConditionExpression {
+
+	private final String text;
+	private final LibSequenceConditionNode root;
+
+	private LibSequenceConditionExpression(String text, LibSequenceConditionNode root) {
+		this.text = text;
+		this.root = root;
+	}
+
+	/**
+	 * Compile the text
+	 *
+	 * @param text The condition text, can be NULL
+	 * @return The expression, or NULL if the text is not an expression
+	 */
+	public static LibSequenceConditionExpression compile(String text) {
+		if (text == null) {
+			return null;
+		}
+		LibSequenceConditionNode root = LibSequenceConditionParser.parse(text);
+		if (root == null) {
+			return null;
+		}
+		return new LibSequenceConditionExpression(text, root);
+	}
+
+	/**
+	 * Get the original text
+	 */
+	public String getText() {
+		return text;
+	}
+
+	LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+		return root.evaluate(context);
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+}
@@ -1,8 +1,12 @@
 package de.polarwolf.libsequence.conditions;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
@@ -13,8 +17,16 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * attribute, and this attribute is working as a switch to enable or disable a
  * specific feature of the action.
  *
+ * An unresolved condition text is compiled into an expression, e.g.
+ * "%player_level% &gt;= 10 &amp;&amp; %player_world% != world_nether". The
+ * compiled expressions are kept in a LRU cache, so a text is only parsed once.
+ * Texts which are not an expression, and the text values an expression
+ * evaluates to, are given to the registered conditions.
+ *
  * @see de.polarwolf.libsequence.conditions.LibSequenceCondition
  *      LibSequenceCondition
+ * @see de.polarwolf.libsequence.conditions.LibSequenceConditionExpression
+ *      ConditionExpression
  * @see <A href=
  *      "https://github.com/Kirastur/LibSequence/wiki/Conditions">Conditions</A>
  *      (WIKI)
@@ -24,8 +36,13 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceConditionManager {
 
+	public static final int MAX_CACHED_EXPRESSIONS = 512;
+
 	protected List<LibSequenceCondition> conditionList = new ArrayList<>();
 
+	// Texts which are not an expression are cached as empty
+	protected final Map<String, Optional<LibSequenceConditionExpression>> expressionCache = createExpressionCache();
+
 	public LibSequenceConditionManager(LibSequenceOrchestrator orchestrator) {
 		// Prevent from starting the Manager without having an orchestrator
 	}
@@ -34,7 +51,92 @@ public class LibSequenceConditionManager {
 		conditionList.add(condition);
 	}
 
+	protected Map<String, Optional<LibSequenceConditionExpression>> createExpressionCache() {
+		return new LinkedHashMap<>(64, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Optional<LibSequenceConditionExpression>> eldest) {
+				return size() > MAX_CACHED_EXPRESSIONS;
+			}
+		};
+	}
+
+	/**
+	 * Get the compiled expression of a condition text. The text should be the
+	 * unresolved attribute value, so placeholders are kept as part of the
+	 * expression and the cache entry can be reused.
+	 *
+	 * @return The expression, or NULL if the text is not an expression
+	 */
+	public LibSequenceConditionExpression compileCondition(String conditionText) {
+		if (conditionText == null) {
+			return null;
+		}
+		synchronized (expressionCache) {
+			Optional<LibSequenceConditionExpression> expression = expressionCache.get(conditionText);
+			if (expression == null) { // NOSONAR
+				expression = Optional.ofNullable(LibSequenceConditionExpression.compile(conditionText));
+				expressionCache.put(conditionText, expression);
+			}
+			return expression.orElse(null);
+		}
+	}
+
+	public int getNumberOfCachedExpressions() {
+		synchronized (expressionCache) {
+			return expressionCache.size();
+		}
+	}
+
+	public void clearExpressionCache() {
+		synchronized (expressionCache) {
+			expressionCache.clear();
+		}
+	}
+
+	/**
+	 * Evaluate a compiled expression
+	 *
+	 * @param expression      The compiled expression
+	 * @param resolver        Resolves the placeholders of the expression
+	 * @param runningSequence Affected sequence
+	 */
+	public LibSequenceConditionValue evaluateExpression(LibSequenceConditionExpression expression,
+			LibSequenceConditionResolver resolver, LibSequenceRunningSequence runningSequence)
+			throws LibSequenceException {
+		return expression.evaluate(new LibSequenceConditionContext(this, resolver, runningSequence));
+	}
+
+	/**
+	 * Convert the result of an expression to TRUE/FALSE. A number is TRUE if it
+	 * is equal or greater than 1, a text is given to the registered conditions.
+	 */
+	public boolean isTrue(LibSequenceConditionValue conditionValue, LibSequenceRunningSequence runningSequence) {
+		switch (conditionValue.getType()) {
+		case BOOLEAN:
+			return conditionValue.getBoolean();
+		case NUMBER:
+			return conditionValue.getNumber() >= 1;
+		default:
+			return performRegisteredConditions(conditionValue.getText(), runningSequence);
+		}
+	}
+
+	/**
+	 * Evaluate a condition text which has already passed the placeholder
+	 * replacement. The text is not compiled as an expression, because a resolved
+	 * value could inject operators and would fill the expression cache. Use
+	 * compileCondition on the unresolved text to get an expression.
+	 */
 	public boolean performConditions(String conditionText, LibSequenceRunningSequence runningSequence) {
+		return performRegisteredConditions(conditionText, runningSequence);
+	}
+
+	protected boolean performRegisteredConditions(String conditionText, LibSequenceRunningSequence runningSequence) {
+		if (conditionText == null) {
+			return false;
+		}
 		for (LibSequenceCondition myCondition : conditionList) {
 			Boolean conditionResult = myCondition.performCondition(conditionText, runningSequence);
 			if (conditionResult != null) {
@@ -0,0 +1,153 @@
+package de.polarwolf.libsequence.conditions;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * Node of the syntax tree of a condition expression. The nodes are immutable,
+ * so a compiled expression can be shared between all sequences.
+ */
+interface LibSequenceConditionNode {
+
+	LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException;
+
+	enum Operator {
+		EQUAL,
+		NOT_EQUAL,
+		LESS,
+		LESS_OR_EQUAL,
+		GREATER,
+		GREATER_OR_EQUAL,
+		CONTAINS,
+		STARTS_WITH,
+		ENDS_WITH,
+		ADD,
+		SUBTRACT,
+		MULTIPLY,
+		DIVIDE
+	}
+
+	record Literal(LibSequenceConditionValue value) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) {
+			return value;
+		}
+
+	}
+
+	record Placeholder(LibSequencePlaceholderTemplate template) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			return LibSequenceConditionValue.ofString(context.resolve(template));
+		}
+
+	}
+
+	record Not(LibSequenceConditionNode operand) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			return LibSequenceConditionValue.ofBoolean(!context.isTrue(operand.evaluate(context)));
+		}
+
+	}
+
+	record Negate(LibSequenceConditionNode operand) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			return LibSequenceConditionValue.ofNumber(-operand.evaluate(context).getNumber());
+		}
+
+	}
+
+	record And(LibSequenceConditionNode left, LibSequenceConditionNode right) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			if (!context.isTrue(left.evaluate(context))) {
+				return LibSequenceConditionValue.FALSE;
+			}
+			return LibSequenceConditionValue.ofBoolean(context.isTrue(right.evaluate(context)));
+		}
+
+	}
+
+	record Or(LibSequenceConditionNode left, LibSequenceConditionNode right) implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			if (context.isTrue(left.evaluate(context))) {
+				return LibSequenceConditionValue.TRUE;
+			}
+			return LibSequenceConditionValue.ofBoolean(context.isTrue(right.evaluate(context)));
+		}
+
+	}
+
+	record Binary(Operator operator, LibSequenceConditionNode left, LibSequenceConditionNode right)
+			implements LibSequenceConditionNode {
+
+		@Override
+		public LibSequenceConditionValue evaluate(LibSequenceConditionContext context) throws LibSequenceException {
+			LibSequenceConditionValue leftValue = left.evaluate(context);
+			LibSequenceConditionValue rightValue = right.evaluate(context);
+			boolean isNumeric = leftValue.isNumeric() && rightValue.isNumeric();
+			double l = leftValue.getNumber();
+			double r = rightValue.getNumber();
+			String leftText = leftValue.getText();
+			String rightText = rightValue.getText();
+
+			switch (operator) {
+			case EQUAL:
+				return LibSequenceConditionValue.ofBoolean(isEqual(context, leftValue, rightValue));
+			case NOT_EQUAL:
+				return LibSequenceConditionValue.ofBoolean(!isEqual(context, leftValue, rightValue));
+			case LESS:
+				return LibSequenceConditionValue.ofBoolean(isNumeric ? l < r : leftText.compareTo(rightText) < 0);
+			case LESS_OR_EQUAL:
+				return LibSequenceConditionValue.ofBoolean(isNumeric ? l <= r : leftText.compareTo(rightText) <= 0);
+			case GREATER:
+				return LibSequenceConditionValue.ofBoolean(isNumeric ? l > r : leftText.compareTo(rightText) > 0);
+			case GREATER_OR_EQUAL:
+				return LibSequenceConditionValue.ofBoolean(isNumeric ? l >= r : leftText.compareTo(rightText) >= 0);
+			case CONTAINS:
+				return LibSequenceConditionValue.ofBoolean(leftText.contains(rightText));
+			case STARTS_WITH:
+				return LibSequenceConditionValue.ofBoolean(leftText.startsWith(rightText));
+			case ENDS_WITH:
+				return LibSequenceConditionValue.ofBoolean(leftText.endsWith(rightText));
+			case ADD:
+				// "+" concatenates if one of the values is not a number
+				if (isNumeric) {
+					return LibSequenceConditionValue.ofNumber(l + r);
+				}
+				return LibSequenceConditionValue.ofString(leftText + rightText);
+			case SUBTRACT:
+				return LibSequenceConditionValue.ofNumber(l - r);
+			case MULTIPLY:
+				return LibSequenceConditionValue.ofNumber(l * r);
+			case DIVIDE:
+				// Division by zero gives Infinity or NaN, never an exception
+				return LibSequenceConditionValue.ofNumber(l / r);
+			default:
+				return LibSequenceConditionValue.FALSE;
+			}
+		}
+
+		private static boolean isEqual(LibSequenceConditionContext context, LibSequenceConditionValue leftValue,
+				LibSequenceConditionValue rightValue) {
+			if (leftValue.isBoolean() || rightValue.isBoolean()) {
+				return context.isTrue(leftValue) == context.isTrue(rightValue);
+			}
+			if (leftValue.isNumeric() && rightValue.isNumeric()) {
+				return leftValue.getNumber() == rightValue.getNumber();
+			}
+			return leftValue.getText().equals(rightValue.getText());
+		}
+
+	}
+
+}
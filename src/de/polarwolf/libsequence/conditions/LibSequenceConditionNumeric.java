@@ -12,12 +12,11 @@ public class LibSequenceConditionNumeric implements LibSequenceCondition {
 
 	@Override
 	public Boolean performCondition(String conditionText, LibSequenceRunningSequence runningSequence) {
-		try {
-			double d = Double.parseDouble(conditionText);
-			return (d >= 1);
-		} catch (Exception e) {
+		double d = LibSequenceConditionValue.parseNumber(conditionText);
+		if (Double.isNaN(d)) {
 			return null; // NOSONAR
 		}
+		return (d >= 1);
 	}
 
 }
@@ -0,0 +1,333 @@
+package de.polarwolf.libsequence.conditions;
+
+import static de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.polarwolf.libsequence.conditions.LibSequenceConditionNode.Operator;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * Recursive descent parser for condition expressions. A text which does not
+ * follow the syntax is not an error, it is simply not an expression. In this
+ * case the parser returns NULL and the text is given to the registered
+ * conditions as before.
+ *
+ * Precedence from low to high: ||, &&, comparison, + -, * /, unary ! -
+ */
+final class LibSequenceConditionParser {
+
+	private enum Kind {
+		NUMBER,
+		STRING,
+		WORD,
+		PLACEHOLDER,
+		SYMBOL,
+		END
+	}
+
+	private record Token(Kind kind, String text) {
+	}
+
+	private static final Token END = new Token(Kind.END, "");
+
+	private final List<Token> tokens;
+	private int position = 0;
+
+	private LibSequenceConditionParser(List<Token> tokens) {
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Parse the text
+	 *
+	 * @return The root node, or NULL if the text is not an expression
+	 */
+	static LibSequenceConditionNode parse(String text) {
+		List<Token> tokens = tokenize(text);
+		if ((tokens == null) || tokens.isEmpty()) {
+			return null;
+		}
+		LibSequenceConditionParser parser = new LibSequenceConditionParser(tokens);
+		LibSequenceConditionNode root = parser.parseOr();
+		if ((root == null) || (parser.peek().kind() != Kind.END)) {
+			return null;
+		}
+		return root;
+	}
+
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || (c == '_') || (c == '.') || (c == ':');
+	}
+
+	// A - or / between word chars is part of the word, e.g. my-world or
+	// world_the_end/foo. Use spaces for arithmetic on words.
+	private static boolean isWordJoiner(String text, int i) {
+		char c = text.charAt(i);
+		return ((c == '-') || (c == '/')) && (i + 1 < text.length()) && isWordChar(text.charAt(i + 1));
+	}
+
+	private static boolean isDigit(char c) {
+		return (c >= '0') && (c <= '9');
+	}
+
+	private static int scanNumber(String text, int start) {
+		int length = text.length();
+		int i = start;
+		while ((i < length) && (isDigit(text.charAt(i)) || (text.charAt(i) == '.'))) {
+			i++;
+		}
+		if ((i < length) && ((text.charAt(i) == 'e') || (text.charAt(i) == 'E'))) {
+			int j = i + 1;
+			if ((j < length) && ((text.charAt(j) == '+') || (text.charAt(j) == '-'))) {
+				j++;
+			}
+			if ((j < length) && isDigit(text.charAt(j))) {
+				i = j;
+				while ((i < length) && isDigit(text.charAt(i))) {
+					i++;
+				}
+			}
+		}
+		return i;
+	}
+
+	// Returns NULL if the text contains something which cannot be a token
+	private static List<Token> tokenize(String text) {
+		List<Token> tokens = new ArrayList<>();
+		int length = text.length();
+		int i = 0;
+		while (i < length) {
+			char c = text.charAt(i);
+			char next = (i + 1 < length) ? text.charAt(i + 1) : 0;
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (isDigit(c) || ((c == '.') && isDigit(next))) {
+				int end = scanNumber(text, i);
+				tokens.add(new Token(Kind.NUMBER, text.substring(i, end)));
+				i = end;
+			} else if (isWordChar(c)) {
+				int end = i + 1;
+				while ((end < length) && (isWordChar(text.charAt(end)) || isWordJoiner(text, end))) {
+					end++;
+				}
+				tokens.add(new Token(Kind.WORD, text.substring(i, end)));
+				i = end;
+			} else if ((c == '\'') || (c == '"')) {
+				int end = text.indexOf(c, i + 1);
+				if (end < 0) {
+					return null;
+				}
+				tokens.add(new Token(Kind.STRING, text.substring(i + 1, end)));
+				i = end + 1;
+			} else if (c == PLACEHOLDER_MARKER) {
+				int end = LibSequencePlaceholderTemplate.findPlaceholderEnd(text, i);
+				if (end < 0) {
+					return null;
+				}
+				tokens.add(new Token(Kind.PLACEHOLDER, text.substring(i, end + 1)));
+				i = end + 1;
+			} else if (((c == '&') && (next == '&')) || ((c == '|') && (next == '|'))
+					|| (((c == '=') || (c == '!') || (c == '<') || (c == '>')) && (next == '='))) {
+				tokens.add(new Token(Kind.SYMBOL, text.substring(i, i + 2)));
+				i = i + 2;
+			} else if ("()!<>=+-*/".indexOf(c) >= 0) {
+				tokens.add(new Token(Kind.SYMBOL, String.valueOf(c)));
+				i++;
+			} else {
+				return null;
+			}
+		}
+		return tokens;
+	}
+
+	private Token peek() {
+		return (position < tokens.size()) ? tokens.get(position) : END;
+	}
+
+	private boolean acceptSymbol(String symbol) {
+		Token token = peek();
+		if ((token.kind() == Kind.SYMBOL) && token.text().equals(symbol)) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private LibSequenceConditionNode parseOr() {
+		LibSequenceConditionNode left = parseAnd();
+		while ((left != null) && acceptSymbol("||")) {
+			LibSequenceConditionNode right = parseAnd();
+			left = (right == null) ? null : new LibSequenceConditionNode.Or(left, right);
+		}
+		return left;
+	}
+
+	private LibSequenceConditionNode parseAnd() {
+		LibSequenceConditionNode left = parseComparison();
+		while ((left != null) && acceptSymbol("&&")) {
+			LibSequenceConditionNode right = parseComparison();
+			left = (right == null) ? null : new LibSequenceConditionNode.And(left, right);
+		}
+		return left;
+	}
+
+	private Operator findComparison() {
+		Token token = peek();
+		if (token.kind() == Kind.WORD) {
+			switch (token.text().toLowerCase()) {
+			case "contains":
+				return Operator.CONTAINS;
+			case "startswith":
+				return Operator.STARTS_WITH;
+			case "endswith":
+				return Operator.ENDS_WITH;
+			default:
+				return null;
+			}
+		}
+		if (token.kind() != Kind.SYMBOL) {
+			return null;
+		}
+		switch (token.text()) {
+		case "=":
+		case "==":
+			return Operator.EQUAL;
+		case "!=":
+			return Operator.NOT_EQUAL;
+		case "<":
+			return Operator.LESS;
+		case "<=":
+			return Operator.LESS_OR_EQUAL;
+		case ">":
+			return Operator.GREATER;
+		case ">=":
+			return Operator.GREATER_OR_EQUAL;
+		default:
+			return null;
+		}
+	}
+
+	private LibSequenceConditionNode parseComparison() {
+		LibSequenceConditionNode left = parseAdditive();
+		if (left == null) {
+			return null;
+		}
+		Operator operator = findComparison();
+		if (operator == null) {
+			return left;
+		}
+		position++;
+		LibSequenceConditionNode right = parseAdditive();
+		return (right == null) ? null : new LibSequenceConditionNode.Binary(operator, left, right);
+	}
+
+	private LibSequenceConditionNode parseAdditive() {
+		LibSequenceConditionNode left = parseMultiplicative();
+		while (left != null) {
+			Operator operator;
+			if (acceptSymbol("+")) {
+				operator = Operator.ADD;
+			} else if (acceptSymbol("-")) {
+				operator = Operator.SUBTRACT;
+			} else {
+				break;
+			}
+			LibSequenceConditionNode right = parseMultiplicative();
+			left = (right == null) ? null : new LibSequenceConditionNode.Binary(operator, left, right);
+		}
+		return left;
+	}
+
+	private LibSequenceConditionNode parseMultiplicative() {
+		LibSequenceConditionNode left = parseUnary();
+		while (left != null) {
+			Operator operator;
+			if (acceptSymbol("*")) {
+				operator = Operator.MULTIPLY;
+			} else if (acceptSymbol("/")) {
+				operator = Operator.DIVIDE;
+			} else {
+				break;
+			}
+			LibSequenceConditionNode right = parseUnary();
+			left = (right == null) ? null : new LibSequenceConditionNode.Binary(operator, left, right);
+		}
+		return left;
+	}
+
+	private LibSequenceConditionNode parseUnary() {
+		if (acceptSymbol("!")) {
+			LibSequenceConditionNode operand = parseUnary();
+			return (operand == null) ? null : new LibSequenceConditionNode.Not(operand);
+		}
+		if (acceptSymbol("-")) {
+			LibSequenceConditionNode operand = parseUnary();
+			return (operand == null) ? null : new LibSequenceConditionNode.Negate(operand);
+		}
+		if (acceptSymbol("+")) {
+			return parseUnary();
+		}
+		return parsePrimary();
+	}
+
+	private LibSequenceConditionNode parsePrimary() {
+		Token token = peek();
+		switch (token.kind()) {
+		case NUMBER:
+			double number = LibSequenceConditionValue.parseNumber(token.text());
+			if (Double.isNaN(number)) {
+				return null;
+			}
+			position++;
+			return new LibSequenceConditionNode.Literal(LibSequenceConditionValue.ofNumber(number));
+		case WORD:
+			if (findComparison() != null) {
+				return null;
+			}
+			position++;
+			return createWord(token.text());
+		case STRING:
+			position++;
+			return createText(token.text());
+		case PLACEHOLDER:
+			position++;
+			return new LibSequenceConditionNode.Placeholder(LibSequencePlaceholderTemplate.compile(token.text()));
+		case SYMBOL:
+			if (acceptSymbol("(")) {
+				LibSequenceConditionNode inner = parseOr();
+				if ((inner == null) || !acceptSymbol(")")) {
+					return null;
+				}
+				return inner;
+			}
+			return null;
+		default:
+			return null;
+		}
+	}
+
+	// Same words as LibSequenceConditionBoolean
+	private static LibSequenceConditionNode createWord(String word) {
+		if (word.equalsIgnoreCase("yes") || word.equalsIgnoreCase("true")) {
+			return new LibSequenceConditionNode.Literal(LibSequenceConditionValue.TRUE);
+		}
+		if (word.equalsIgnoreCase("no") || word.equalsIgnoreCase("false")) {
+			return new LibSequenceConditionNode.Literal(LibSequenceConditionValue.FALSE);
+		}
+		return new LibSequenceConditionNode.Literal(LibSequenceConditionValue.ofString(word));
+	}
+
+	// A quoted text can contain placeholders, e.g. 'Welcome %player_name%'
+	private static LibSequenceConditionNode createText(String text) {
+		LibSequencePlaceholderTemplate template = LibSequencePlaceholderTemplate.compile(text);
+		for (int i = 0; i < template.getSegmentCount(); i++) {
+			if (template.isPlaceholder(i)) {
+				return new LibSequenceConditionNode.Placeholder(template);
+			}
+		}
+		return new LibSequenceConditionNode.Literal(LibSequenceConditionValue.ofString(text));
+	}
+
+}
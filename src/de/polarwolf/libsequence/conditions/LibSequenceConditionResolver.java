@@ -0,0 +1,30 @@
+package de.polarwolf.libsequence.conditions;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * Resolves the placeholders of a condition expression during evaluation. The
+ * caller decides for which player the placeholders are resolved, so the same
+ * compiled expression can be evaluated for every player.
+ *
+ * @see de.polarwolf.libsequence.conditions.LibSequenceConditionExpression
+ *      ConditionExpression
+ */
+@FunctionalInterface
+public interface LibSequenceConditionResolver {
+
+	/**
+	 * Resolver for texts which have already passed the placeholder replacement
+	 */
+	public static final LibSequenceConditionResolver NONE = LibSequencePlaceholderTemplate::getText;
+
+	/**
+	 * Resolve the placeholders in the given template
+	 *
+	 * @param template Precompiled placeholder or text containing placeholders
+	 * @return The resolved text
+	 */
+	public String resolve(LibSequencePlaceholderTemplate template) throws LibSequenceException;
+
+}
@@ -0,0 +1,165 @@
+package de.polarwolf.libsequence.conditions;
+
+/**
+ * Immutable result of a condition expression. A value is either a boolean, a
+ * number or a text. A text which looks like a number can be used in numeric
+ * operations, so the result of a placeholder can be compared with a number.
+ *
+ * @see de.polarwolf.libsequence.conditions.LibSequenceConditionExpression
+ *      ConditionExpression
+ */
+public final class LibSequenceConditionValue {
+
+	public static final LibSequenceConditionValue TRUE = new LibSequenceConditionValue(Type.BOOLEAN, true, 1, "true");
+	public static final LibSequenceConditionValue FALSE = new LibSequenceConditionValue(Type.BOOLEAN, false, 0,
+			"false");
+	public static final LibSequenceConditionValue EMPTY = new LibSequenceConditionValue(Type.STRING, false,
+			Double.NaN, "");
+
+	public enum Type {
+		BOOLEAN,
+		NUMBER,
+		STRING
+	}
+
+	private final Type type;
+	private final boolean booleanValue;
+	private final double numberValue;
+	private final String text;
+
+	private LibSequenceConditionValue(Type type, boolean booleanValue, double numberValue, String text) {
+		this.type = type;
+		this.booleanValue = booleanValue;
+		this.numberValue = numberValue;
+		this.text = text;
+	}
+
+	public static LibSequenceConditionValue ofBoolean(boolean value) {
+		return value ? TRUE : FALSE;
+	}
+
+	public static LibSequenceConditionValue ofNumber(double value) {
+		String text;
+		if ((value == Math.rint(value)) && (Math.abs(value) < 1e15)) {
+			text = Long.toString((long) value);
+		} else {
+			text = Double.toString(value);
+		}
+		return new LibSequenceConditionValue(Type.NUMBER, false, value, text);
+	}
+
+	/**
+	 * Create a text value. The numeric representation is computed once, so the
+	 * text is not parsed again for every comparison.
+	 */
+	public static LibSequenceConditionValue ofString(String text) {
+		if ((text == null) || text.isEmpty()) {
+			return EMPTY;
+		}
+		return new LibSequenceConditionValue(Type.STRING, false, parseNumber(text), text);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public boolean isBoolean() {
+		return type == Type.BOOLEAN;
+	}
+
+	public boolean getBoolean() {
+		return booleanValue;
+	}
+
+	/**
+	 * Check if the value is a number, or a text which can be read as a number
+	 */
+	public boolean isNumeric() {
+		return (type == Type.NUMBER) || ((type == Type.STRING) && !Double.isNaN(numberValue));
+	}
+
+	/**
+	 * Get the numeric value, or NaN if the value is not numeric
+	 */
+	public double getNumber() {
+		return numberValue;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Parse a decimal number, e.g. "12", "-0.5" or "1.5e3". Unlike
+	 * Double.parseDouble this does not throw an exception if the text is not a
+	 * number.
+	 *
+	 * @param text Text to parse, can be NULL
+	 * @return The number, or NaN if the text is not a number
+	 */
+	public static double parseNumber(String text) {
+		if (text == null) {
+			return Double.NaN;
+		}
+		int start = 0;
+		int end = text.length();
+		while ((start < end) && Character.isWhitespace(text.charAt(start))) {
+			start++;
+		}
+		while ((end > start) && Character.isWhitespace(text.charAt(end - 1))) {
+			end--;
+		}
+		if (!isNumber(text, start, end)) {
+			return Double.NaN;
+		}
+		return Double.parseDouble(text.substring(start, end));
+	}
+
+	// Sign, digits with an optional decimal point, and an optional exponent
+	protected static boolean isNumber(String text, int start, int end) {
+		int i = start;
+		if ((i < end) && ((text.charAt(i) == '+') || (text.charAt(i) == '-'))) {
+			i++;
+		}
+		int digits = 0;
+		while ((i < end) && isDigit(text.charAt(i))) {
+			i++;
+			digits++;
+		}
+		if ((i < end) && (text.charAt(i) == '.')) {
+			i++;
+			while ((i < end) && isDigit(text.charAt(i))) {
+				i++;
+				digits++;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if ((i < end) && ((text.charAt(i) == 'e') || (text.charAt(i) == 'E'))) {
+			i++;
+			if ((i < end) && ((text.charAt(i) == '+') || (text.charAt(i) == '-'))) {
+				i++;
+			}
+			int exponentDigits = 0;
+			while ((i < end) && isDigit(text.charAt(i))) {
+				i++;
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return false;
+			}
+		}
+		return i == end;
+	}
+
+	protected static boolean isDigit(char c) {
+		return (c >= '0') && (c <= '9');
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+}
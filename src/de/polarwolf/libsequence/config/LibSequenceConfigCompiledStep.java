@@ -0,0 +1,190 @@
+package de.polarwolf.libsequence.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.polarwolf.libsequence.actions.LibSequenceAction;
+import de.polarwolf.libsequence.actions.LibSequenceActionManager;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * Immutable, precompiled form of a step. It is built once after the step has
+ * passed the syntax check, so the per-step execution path does not need to
+ * parse the wait time, look up the action by name, split the attribute list
+ * or search the attribute values for placeholders again.
+ *
+ * @see de.polarwolf.libsequence.config.LibSequenceConfigStep#getCompiledStep()
+ *      ConfigStep.getCompiledStep
+ */
+public final class LibSequenceConfigCompiledStep {
+
+	public static final int TICKS_PER_SECOND = 20;
+
+	private final LibSequenceConfigStep configStep;
+	private final LibSequenceActionManager actionManager;
+	private final LibSequenceAction action;
+	private final String actionName;
+	private final int waitTicks;
+	private final List<String> checkKeys;
+	private final List<String> includeKeys;
+	private final Map<String, LibSequenceConfigLocalizedValue> localizedValues;
+
+	/**
+	 * Compile the step. This is called by the ActionManager, which has resolved
+	 * the action and knows which attributes are checks and includes.
+	 *
+	 * @param configStep    The step to compile. The syntax check must be done
+	 *                      before.
+	 * @param actionManager The LibSequence-Instance the step belongs to
+	 * @param action        The resolved action
+	 * @param checkKeys     The names of all check-attributes of the step
+	 * @param includeKeys   The names of all include-attributes of the step
+	 */
+	public LibSequenceConfigCompiledStep(LibSequenceConfigStep configStep, LibSequenceActionManager actionManager,
+			LibSequenceAction action, List<String> checkKeys, List<String> includeKeys) {
+		this.configStep = configStep;
+		this.actionManager = actionManager;
+		this.action = action;
+		this.actionName = configStep.getActionName();
+		this.waitTicks = computeWaitTicks(configStep.getWait());
+		this.checkKeys = Collections.unmodifiableList(new ArrayList<>(checkKeys));
+		this.includeKeys = Collections.unmodifiableList(new ArrayList<>(includeKeys));
+		this.localizedValues = Collections.unmodifiableMap(buildLocalizedValues(configStep));
+	}
+
+	/**
+	 * A wait of 0 seconds means "next tick"
+	 */
+	protected static int computeWaitTicks(int waitSeconds) {
+		if (waitSeconds == 0) {
+			return 1;
+		}
+		long ticks = (long) waitSeconds * TICKS_PER_SECOND;
+		return (int) Math.min(ticks, Integer.MAX_VALUE);
+	}
+
+	// Every attribute is registered with its own name as default value.
+	// Additionally it's registered as variant of a base attribute if the name
+	// ends with a 5-digit or 2-digit locale (e.g. "message_de_de" or
+	// "message_de"). This gives the same results as building the localized
+	// name and search for it.
+	protected static Map<String, LibSequenceConfigLocalizedValue> buildLocalizedValues(
+			LibSequenceConfigStep configStep) {
+		Map<String, LibSequenceConfigLocalizedValue.Builder> builders = new HashMap<>();
+		for (String keyName : configStep.getAttributeKeys()) {
+			LibSequencePlaceholderTemplate valueText = LibSequencePlaceholderTemplate
+					.compile(configStep.findValue(keyName));
+			builders.computeIfAbsent(keyName, k -> new LibSequenceConfigLocalizedValue.Builder())
+					.setDefaultValue(valueText);
+
+			int length = keyName.length();
+			if ((length > 6) && (keyName.charAt(length - 6) == '_')) {
+				builders.computeIfAbsent(keyName.substring(0, length - 6),
+						k -> new LibSequenceConfigLocalizedValue.Builder())
+						.addFullLocale(keyName.substring(length - 5), valueText);
+			}
+			if ((length > 3) && (keyName.charAt(length - 3) == '_')) {
+				builders.computeIfAbsent(keyName.substring(0, length - 3),
+						k -> new LibSequenceConfigLocalizedValue.Builder())
+						.addGroupLocale(keyName.substring(length - 2), valueText);
+			}
+		}
+
+		Map<String, LibSequenceConfigLocalizedValue> result = new HashMap<>();
+		for (Entry<String, LibSequenceConfigLocalizedValue.Builder> entry : builders.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().build());
+		}
+		return result;
+	}
+
+	/**
+	 * Get the step this compiled step was built from
+	 */
+	public LibSequenceConfigStep getConfigStep() {
+		return configStep;
+	}
+
+	/**
+	 * Multi-Instance-Check, see
+	 * {@link de.polarwolf.libsequence.config.LibSequenceConfigStep#isSameInstance
+	 * ConfigStep.isSameInstance}
+	 */
+	public boolean isSameInstance(LibSequenceActionManager actionManagerToTest) {
+		return actionManager == actionManagerToTest;
+	}
+
+	/**
+	 * Get the resolved action
+	 */
+	public LibSequenceAction getAction() {
+		return action;
+	}
+
+	/**
+	 * Get the name of the action
+	 */
+	public String getActionName() {
+		return actionName;
+	}
+
+	/**
+	 * Get the wait after the action in ticks. A wait of 0 seconds is already
+	 * converted to 1 tick.
+	 */
+	public int getWaitTicks() {
+		return waitTicks;
+	}
+
+	/**
+	 * Get the names of all check-attributes (check_*) of this step
+	 */
+	public List<String> getCheckKeys() {
+		return checkKeys;
+	}
+
+	/**
+	 * Get the names of all include-attributes (include_*) of this step
+	 */
+	public List<String> getIncludeKeys() {
+		return includeKeys;
+	}
+
+	/**
+	 * Get all language variants of an attribute
+	 *
+	 * @return The variants, or NULL if neither the attribute nor a localized
+	 *         variant exists
+	 */
+	public LibSequenceConfigLocalizedValue getLocalizedValue(String keyName) {
+		return localizedValues.get(keyName);
+	}
+
+	/**
+	 * Get the value of a multilanguage-attribute, see
+	 * {@link de.polarwolf.libsequence.config.LibSequenceConfigStep#findValueLocalized
+	 * ConfigStep.findValueLocalized}
+	 */
+	public String findValueLocalized(String keyName, String locale) {
+		LibSequenceConfigLocalizedValue localizedValue = localizedValues.get(keyName);
+		if (localizedValue == null) {
+			return null;
+		}
+		return localizedValue.find(locale);
+	}
+
+	/**
+	 * Same as findValueLocalized, but get the precompiled placeholder template
+	 */
+	public LibSequencePlaceholderTemplate findTemplateLocalized(String keyName, String locale) {
+		LibSequenceConfigLocalizedValue localizedValue = localizedValues.get(keyName);
+		if (localizedValue == null) {
+			return null;
+		}
+		return localizedValue.findTemplate(locale);
+	}
+
+}
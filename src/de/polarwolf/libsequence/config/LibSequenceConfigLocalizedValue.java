@@ -0,0 +1,117 @@
+package de.polarwolf.libsequence.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * All language variants of one attribute, prepared during compile. The lookup
+ * follows the same rules as
+ * {@link de.polarwolf.libsequence.config.LibSequenceConfigStep#findValueLocalized
+ * ConfigStep.findValueLocalized}, but does not need to build the localized
+ * attribute names for every call. Each value is also available as precompiled
+ * placeholder template.
+ *
+ * @see <A href=
+ *      "https://github.com/Kirastur/LibSequence/wiki/Multilanguage">Multilanguage</A>
+ *      (WIKI)
+ */
+public final class LibSequenceConfigLocalizedValue {
+
+	private static final String[] EMPTY = new String[0];
+	private static final LibSequencePlaceholderTemplate[] EMPTY_TEMPLATES = new LibSequencePlaceholderTemplate[0];
+
+	private final LibSequencePlaceholderTemplate defaultValue;
+	private final String[] fullLocales;
+	private final LibSequencePlaceholderTemplate[] fullValues;
+	private final String[] groupLocales;
+	private final LibSequencePlaceholderTemplate[] groupValues;
+
+	private LibSequenceConfigLocalizedValue(Builder builder) {
+		this.defaultValue = builder.defaultValue;
+		this.fullLocales = builder.fullLocales.toArray(EMPTY);
+		this.fullValues = builder.fullValues.toArray(EMPTY_TEMPLATES);
+		this.groupLocales = builder.groupLocales.toArray(EMPTY);
+		this.groupValues = builder.groupValues.toArray(EMPTY_TEMPLATES);
+	}
+
+	/**
+	 * Get the non-multilanguage value, can be NULL
+	 */
+	public String getDefaultValue() {
+		return (defaultValue == null) ? null : defaultValue.getText();
+	}
+
+	/**
+	 * Check if there is any language variant
+	 */
+	public boolean isLocalized() {
+		return (fullLocales.length > 0) || (groupLocales.length > 0);
+	}
+
+	/**
+	 * Get the value in the given locale. It first tries the full 5-digit locale
+	 * (e.g. "de_de"), then the 2-digit group locale (e.g. "de"), and finally the
+	 * non-multilanguage value.
+	 */
+	public String find(String locale) {
+		LibSequencePlaceholderTemplate template = findTemplate(locale);
+		return (template == null) ? null : template.getText();
+	}
+
+	/**
+	 * Same as find, but get the precompiled placeholder template
+	 */
+	public LibSequencePlaceholderTemplate findTemplate(String locale) {
+		if (locale != null) {
+			if (locale.length() >= 5) {
+				for (int i = 0; i < fullLocales.length; i++) {
+					if (locale.startsWith(fullLocales[i])) {
+						return fullValues[i];
+					}
+				}
+			}
+			if (locale.length() >= 2) {
+				for (int i = 0; i < groupLocales.length; i++) {
+					if (locale.startsWith(groupLocales[i])) {
+						return groupValues[i];
+					}
+				}
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Collects the variants during compile
+	 */
+	static final class Builder {
+
+		private LibSequencePlaceholderTemplate defaultValue = null;
+		private final List<String> fullLocales = new ArrayList<>();
+		private final List<LibSequencePlaceholderTemplate> fullValues = new ArrayList<>();
+		private final List<String> groupLocales = new ArrayList<>();
+		private final List<LibSequencePlaceholderTemplate> groupValues = new ArrayList<>();
+
+		void setDefaultValue(LibSequencePlaceholderTemplate defaultValue) {
+			this.defaultValue = defaultValue;
+		}
+
+		void addFullLocale(String locale, LibSequencePlaceholderTemplate value) {
+			fullLocales.add(locale);
+			fullValues.add(value);
+		}
+
+		void addGroupLocale(String locale, LibSequencePlaceholderTemplate value) {
+			groupLocales.add(locale);
+			groupValues.add(value);
+		}
+
+		LibSequenceConfigLocalizedValue build() {
+			return new LibSequenceConfigLocalizedValue(this);
+		}
+
+	}
+
+}
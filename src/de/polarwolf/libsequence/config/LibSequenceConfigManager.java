@@ -4,7 +4,9 @@ import static de.polarwolf.libsequence.config.LibSequenceConfigErrors.LSCERR_SEC
 import static de.polarwolf.libsequence.config.LibSequenceConfigErrors.LSCERR_SECTION_NOT_FOUND;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import de.polarwolf.libsequence.actions.LibSequenceActionValidator;
@@ -29,6 +31,9 @@ public class LibSequenceConfigManager {
 
 	protected final List<LibSequenceConfigSection> sections = new ArrayList<>();
 
+	// Section name per sequence, dropped whenever the sections change
+	protected final Map<LibSequenceConfigSequence, String> sectionNameCache = new IdentityHashMap<>();
+
 	public LibSequenceConfigManager(LibSequenceOrchestrator orchestrator) {
 		this.actionValidator = orchestrator.getActionManager().getActionValidator();
 	}
@@ -98,6 +103,27 @@ public class LibSequenceConfigManager {
 		return null;
 	}
 
+	/**
+	 * Find the name of the section the given sequence belongs to. Returns NULL if
+	 * the sequence is not part of any section, e.g. for sequences started
+	 * directly by a private plugin. The result is cached until the sections
+	 * change.
+	 */
+	public String findSectionName(LibSequenceConfigSequence configSequence) {
+		String sectionName = sectionNameCache.get(configSequence);
+		if (sectionName != null) {
+			return sectionName;
+		}
+		for (LibSequenceConfigSection mySection : sections) {
+			if (mySection.containsSequence(configSequence)) {
+				sectionName = mySection.getSectionName();
+				sectionNameCache.put(configSequence, sectionName);
+				return sectionName;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Get a list of all sequence-names contained in the section identified by the
 	 * ownerToken.
@@ -130,6 +156,7 @@ public class LibSequenceConfigManager {
 			sections.remove(oldSection);
 		}
 		sections.add(newSection);
+		sectionNameCache.clear();
 	}
 
 	/**
@@ -143,6 +170,7 @@ public class LibSequenceConfigManager {
 			return;
 		}
 		sections.add(new LibSequenceConfigSection(ownerToken, actionValidator, sectionName));
+		sectionNameCache.clear();
 	}
 
 	/**
@@ -156,6 +184,7 @@ public class LibSequenceConfigManager {
 		}
 
 		sections.remove(sectionOld);
+		sectionNameCache.clear();
 	}
 
 	/**
@@ -163,6 +192,7 @@ public class LibSequenceConfigManager {
 	 */
 	public void disable() {
 		sections.clear();
+		sectionNameCache.clear();
 	}
 
 }
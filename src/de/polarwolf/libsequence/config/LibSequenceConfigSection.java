@@ -212,6 +212,18 @@ public class LibSequenceConfigSection {
 		throw new LibSequenceConfigException(sectionName, LSCERR_SEQUENCE, sequenceName);
 	}
 
+	/**
+	 * Check if the given sequence-object belongs to this section
+	 */
+	public boolean containsSequence(LibSequenceConfigSequence configSequence) {
+		for (LibSequenceConfigSequence mySequence : sequences) {
+			if (mySequence == configSequence) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Get a list of sequence names this section contains.
 	 */
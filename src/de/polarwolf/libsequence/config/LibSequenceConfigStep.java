@@ -61,6 +61,11 @@ public class LibSequenceConfigStep {
 	 */
 	protected final Map<String, String> attributes = new HashMap<>();
 
+	/**
+	 * Precompiled form of this step, available after a successful syntax check
+	 */
+	private LibSequenceConfigCompiledStep compiledStep = null;
+
 	/**
 	 * Build this step by loading it from file (for example config.yml).
 	 *
@@ -200,6 +205,10 @@ public class LibSequenceConfigStep {
 	 *      (WIKI)
 	 */
 	public String findValueLocalized(String keyName, String locale) {
+		if (compiledStep != null) {
+			return compiledStep.findValueLocalized(keyName, locale);
+		}
+
 		if (locale != null) {
 
 			// 1st try: take the full language (e.g. "de_de")
@@ -261,6 +270,17 @@ public class LibSequenceConfigStep {
 		return new HashSet<>(attributes.keySet());
 	}
 
+	/**
+	 * Get the precompiled form of this step. The step is compiled after the first
+	 * successful syntax check.
+	 *
+	 * @return The compiled step, or NULL if the step has not passed a syntax check
+	 *         yet
+	 */
+	public LibSequenceConfigCompiledStep getCompiledStep() {
+		return compiledStep;
+	}
+
 	/**
 	 * Perform a Syntax Check on this step. The syntax check is called during
 	 * initial section load and before every run. An invalid sequence is not
@@ -295,6 +315,15 @@ public class LibSequenceConfigStep {
 		} catch (LibSequenceActionException e) {
 			throw new LibSequenceConfigException(null, getSequenceName(), getStepNr(), LSCERR_ACTION, null, e);
 		}
+
+		// The attributes cannot change after load, so we need to compile only once
+		if (compiledStep == null) {
+			try {
+				compiledStep = actionValidator.compileStep(this);
+			} catch (LibSequenceActionException e) {
+				throw new LibSequenceConfigException(null, getSequenceName(), getStepNr(), LSCERR_ACTION, null, e);
+			}
+		}
 	}
 
 }
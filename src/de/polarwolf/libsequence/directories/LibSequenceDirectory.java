@@ -2,6 +2,7 @@ package de.polarwolf.libsequence.directories;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.plugin.Plugin;
 
@@ -231,6 +232,47 @@ public class LibSequenceDirectory {
 		return directoryManager.execute(runnerToken, sequenceName, runOptions);
 	}
 
+	/**
+	 * Run a sequence from the directory, like execute. But if all running slots
+	 * are in use, the start waits in the admission queue until another sequence
+	 * has ended. Without an admission queue the start is done (or rejected)
+	 * immediately.
+	 *
+	 * @param runnerToken   Token to claim your ownership of the newly started
+	 *                      sequence
+	 * @param sequenceName  Name of the sequence which should be started
+	 * @param runOptions    Additional options, e.g. about the initiator
+	 * @param priority      Queued starts with a higher priority are admitted
+	 *                      first
+	 * @param timeoutMillis How long the start may wait for a free slot, 0 to use
+	 *                      the configured default
+	 * @return A future which completes with the instance of the running sequence,
+	 *         or completes exceptionally with a LibSequenceDirectoryException.
+	 *         Cancel the future to withdraw a queued start.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> executeQueued(LibSequenceToken runnerToken,
+			String sequenceName, LibSequenceRunOptions runOptions, int priority, long timeoutMillis) {
+		return directoryManager.executeQueued(runnerToken, sequenceName, runOptions, priority, timeoutMillis);
+	}
+
+	/**
+	 * Thread-safe variant of execute. The start is queued and performed on the
+	 * server thread at the beginning of the next tick, so you can call this from
+	 * async tasks, e.g. web hooks.
+	 *
+	 * @param runnerToken  Token to claim your ownership of the newly started
+	 *                     sequence
+	 * @param sequenceName Name of the sequence which should be started
+	 * @param runOptions   Additional options, e.g. about the initiator
+	 * @return A future which completes with the instance of the running sequence,
+	 *         or completes exceptionally with a LibSequenceDirectoryException. The
+	 *         future completes on the server thread.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submit(LibSequenceToken runnerToken, String sequenceName,
+			LibSequenceRunOptions runOptions) {
+		return directoryManager.submit(runnerToken, sequenceName, runOptions);
+	}
+
 	/**
 	 * The owner can define if other plugins can cancel a sequence after the
 	 * sequence was started (Remember: If the sequence was started by yourself, you
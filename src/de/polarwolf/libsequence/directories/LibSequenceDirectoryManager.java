@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.plugin.Plugin;
 
@@ -287,6 +288,63 @@ public class LibSequenceDirectoryManager {
 		}
 	}
 
+	/**
+	 * Run a sequence from the directory, or let the start wait in the admission
+	 * queue if all running slots are in use. Cancelling the returned future
+	 * withdraws the queued start.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> executeQueued(LibSequenceToken runnerToken,
+			String sequenceName, LibSequenceRunOptions runOptions, int priority, long timeoutMillis) {
+		LibSequenceToken ownerToken = sequences.get(sequenceName);
+		if (ownerToken == null) {
+			return CompletableFuture
+					.failedFuture(new LibSequenceDirectoryException(null, LSDERR_SEQUENCE_NOT_FOUND, sequenceName));
+		}
+
+		if (!sequencerAPI.hasOwnSequence(ownerToken, sequenceName)) {
+			return CompletableFuture.failedFuture(
+					new LibSequenceDirectoryException(null, LSDERR_SEQUENCE_NOT_RUNNABLE, sequenceName));
+		}
+
+		CompletableFuture<LibSequenceRunningSequence> queuedFuture;
+		try {
+			LibSequenceToken securityToken = sequencerAPI.getSecurityToken(ownerToken, sequenceName);
+			queuedFuture = sequencerAPI.executeForeignSequenceQueued(runnerToken, securityToken, runOptions,
+					priority, timeoutMillis);
+		} catch (LibSequenceException e) {
+			return CompletableFuture.failedFuture(
+					new LibSequenceDirectoryException(sequenceName, LSDERR_ERROR_DURING_SEQUENCE_START, null, e));
+		}
+
+		// Wrap the errors like execute does, and pass a cancel on to the queue
+		CompletableFuture<LibSequenceRunningSequence> future = new CompletableFuture<>();
+		queuedFuture.whenComplete((runningSequence, e) -> {
+			if (e == null) {
+				future.complete(runningSequence);
+			} else if (e instanceof LibSequenceException libSequenceException) {
+				future.completeExceptionally(new LibSequenceDirectoryException(sequenceName,
+						LSDERR_ERROR_DURING_SEQUENCE_START, null, libSequenceException));
+			} else {
+				future.completeExceptionally(e);
+			}
+		});
+		future.whenComplete((runningSequence, e) -> {
+			if (future.isCancelled()) {
+				queuedFuture.cancel(false);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Queue the start of a sequence from the directory, can be called from any
+	 * thread
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submit(LibSequenceToken runnerToken, String sequenceName,
+			LibSequenceRunOptions runOptions) {
+		return sequencerAPI.submit(() -> execute(runnerToken, sequenceName, runOptions));
+	}
+
 	/**
 	 * Get a list of all sequences which are currently running and cancelable
 	 */
@@ -5,6 +5,7 @@ import java.util.Set;
 import org.bukkit.command.CommandSender;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -20,4 +21,23 @@ public interface LibSequenceInclude {
 	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException;
 
+	/**
+	 * Tell the IncludeManager if the result only depends on the value (after
+	 * placeholder resolution) and not on the initiator or other run options.
+	 * Only then the result can be shared between sequences in the same tick.
+	 */
+	public default boolean isCacheable() {
+		return false;
+	}
+
+	/**
+	 * Add the targets of this include to the given target set. The default
+	 * takes the result of performInclude. Override it if the include can set the
+	 * player slots directly.
+	 */
+	public default void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		targets.addAll(performInclude(includeName, valueText, inverseSearch, runningSequence));
+	}
+
 }
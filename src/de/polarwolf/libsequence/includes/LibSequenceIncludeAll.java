@@ -8,6 +8,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -16,6 +17,11 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceIncludeAll implements LibSequenceInclude {
 
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
 	@Override
 	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
@@ -32,4 +38,15 @@ public class LibSequenceIncludeAll implements LibSequenceInclude {
 		return senders;
 	}
 
+	@Override
+	public void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
+
+		if (runningSequence.resolveCondition(valueText) ^ inverseSearch) {
+			targets.add(Bukkit.getConsoleSender());
+			targets.addAllPlayers();
+		}
+	}
+
 }
@@ -1,12 +1,7 @@
 package de.polarwolf.libsequence.includes;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
+import de.polarwolf.libsequence.conditions.LibSequenceConditionExpression;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionValue;
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
@@ -15,26 +10,36 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * player. If the condition is true for this player, the player is added. This
  * include is designed for use with a dynamic condition, e.g. a condition
  * containing placeholders. The condition is true, if the value is "yes" or
- * "true", or if numeric >= 1.0 (after placeholder replacement).
+ * "true", or if numeric >= 1.0 (after placeholder replacement). The value can
+ * also be an expression, which is compiled only once and then evaluated for
+ * every player.
  */
-public class LibSequenceIncludeCondition implements LibSequenceInclude {
+public class LibSequenceIncludeCondition implements LibSequenceIncludeFilter {
 
 	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
-		Set<CommandSender> senders = new HashSet<>();
-		for (Player myPlayer : Bukkit.getOnlinePlayers()) {
-			String conditionText = runningSequence.resolvePlaceholderForOtherPlayer(valueText, myPlayer);
-			if (!conditionText.isEmpty()) {
-				boolean hasCondition = runningSequence.resolveCondition(conditionText);
-				// Now it gets tricky: ^ is the XOR operator, this is not math square
-				if (hasCondition ^ inverseSearch) {
-					senders.add(myPlayer);
+		LibSequenceConditionExpression expression = runningSequence.compileCondition(valueText);
+		if (expression != null) {
+			return player -> {
+				LibSequenceConditionValue conditionValue = runningSequence.evaluateCondition(expression,
+						template -> runningSequence.resolvePlaceholderForOtherPlayer(template, player));
+				if (conditionValue.getText().isEmpty()) {
+					return false;
 				}
-			}
+				return runningSequence.resolveCondition(conditionValue) ^ inverseSearch;
+			};
 		}
 
-		return senders;
+		return player -> {
+			String conditionText = runningSequence.resolvePlaceholderForOtherPlayer(valueText, player);
+			if (conditionText.isEmpty()) {
+				return false;
+			}
+			boolean hasCondition = runningSequence.resolveCondition(conditionText);
+			// Now it gets tricky: ^ is the XOR operator, this is not math square
+			return hasCondition ^ inverseSearch;
+		};
 	}
 
 }
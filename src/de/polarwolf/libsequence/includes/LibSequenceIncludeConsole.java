@@ -15,6 +15,11 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceIncludeConsole implements LibSequenceInclude {
 
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
 	@Override
 	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
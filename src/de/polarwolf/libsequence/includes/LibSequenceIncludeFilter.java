@@ -0,0 +1,67 @@
+package de.polarwolf.libsequence.includes;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
+
+/**
+ * Interface for includes which select online players by testing each of them.
+ * Instead of scanning the online players on its own, the include hands out a
+ * predicate. The IncludeManager then walks the online players only once and
+ * applies the predicates of all includes and excludes of the step in this
+ * single pass.
+ *
+ * Includes which can name their targets directly (e.g. console, initiator or
+ * a list of players) should implement the plain
+ * {@link de.polarwolf.libsequence.includes.LibSequenceInclude
+ * LibSequenceInclude} instead.
+ *
+ * @see <A href=
+ *      "https://github.com/Kirastur/LibSequence/wiki/IncludeManager">Include
+ *      Manager</A> (WIKI)
+ */
+public interface LibSequenceIncludeFilter extends LibSequenceInclude {
+
+	/**
+	 * Prepare the include for the scan. Everything which does not depend on the
+	 * tested player (e.g. resolving the placeholders of the value) should be
+	 * done here.
+	 *
+	 * @return The predicate to test the players, or NULL if no player can match
+	 */
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException;
+
+	/**
+	 * Tell the IncludeManager that this include can name its targets directly in
+	 * the given case (e.g. from an index). Then collectInclude is called instead
+	 * of testing each player with the predicate.
+	 */
+	public default boolean canEnumerate(String includeName, boolean inverseSearch) {
+		return false;
+	}
+
+	@Override
+	public default Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
+		Set<CommandSender> senders = new HashSet<>();
+		LibSequenceIncludePredicate predicate = prepareInclude(includeName, valueText, inverseSearch,
+				runningSequence);
+		if (predicate == null) {
+			return senders;
+		}
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (predicate.test(player)) {
+				senders.add(player);
+			}
+		}
+		return senders;
+	}
+
+}
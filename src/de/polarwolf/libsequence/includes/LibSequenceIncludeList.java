@@ -1,6 +1,8 @@
 package de.polarwolf.libsequence.includes;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.Bukkit;
@@ -8,6 +10,8 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -19,17 +23,8 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  */
 public class LibSequenceIncludeList implements LibSequenceInclude {
 
-	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
-			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
-		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
-
-		// an empty list is not an error, it just means nothing
-		Set<CommandSender> senders = new HashSet<>();
-		if (valueText.isEmpty()) {
-			return senders;
-		}
-
+	protected List<Player> findListedPlayers(String valueText) {
+		List<Player> players = new ArrayList<>();
 		valueText = valueText.replace(';', ' ');
 		valueText = valueText.replace(',', ' ');
 		valueText = valueText.replace("  ", " ");
@@ -38,10 +33,30 @@ public class LibSequenceIncludeList implements LibSequenceInclude {
 			if (!playerName.isEmpty()) {
 				Player player = Bukkit.getPlayer(playerName);
 				if (player != null) {
-					senders.add(player);
+					players.add(player);
 				}
 			}
 		}
+		return players;
+	}
+
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
+		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
+
+		// an empty list is not an error, it just means nothing
+		Set<CommandSender> senders = new HashSet<>();
+		if (valueText.isEmpty()) {
+			return senders;
+		}
+
+		senders.addAll(findListedPlayers(valueText));
 
 		if (inverseSearch) {
 			Set<CommandSender> inverseSenders = new HashSet<>();
@@ -56,4 +71,32 @@ public class LibSequenceIncludeList implements LibSequenceInclude {
 		}
 	}
 
+	@Override
+	public void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
+
+		// an empty list is not an error, it just means nothing
+		if (valueText.isEmpty()) {
+			return;
+		}
+
+		List<Player> players = findListedPlayers(valueText);
+		if (!inverseSearch) {
+			targets.addAll(players);
+			return;
+		}
+
+		// The inverse is the complement on the player slots
+		LibSequencePlayerManager playerManager = targets.getPlayerManager();
+		LibSequenceTargetSet listedTargets = playerManager.createTargetSet();
+		listedTargets.addAll(players);
+		int slotLimit = playerManager.getSlotLimit();
+		for (int slot = 0; slot < slotLimit; slot++) {
+			if ((playerManager.getPlayer(slot) != null) && !listedTargets.containsSlot(slot)) {
+				targets.addSlot(slot);
+			}
+		}
+	}
+
 }
@@ -5,16 +5,24 @@ import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_
 import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_JAVA_EXCEPTION;
 import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_SYNTAX_ERROR;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -32,9 +40,27 @@ public class LibSequenceIncludeManager {
 	public static final String INCLUDE_PREFIX = "include_";
 
 	protected Map<String, LibSequenceInclude> includeMap = new HashMap<>();
+	protected final LibSequencePlayerManager playerManager;
+	protected final LibSequenceIncludeMemo includeMemo;
 
 	public LibSequenceIncludeManager(LibSequenceOrchestrator orchestrator) {
-		// Prevent from starting the Manager without having an orchestrator
+		this.playerManager = orchestrator.getPlayerManager();
+		if (orchestrator.isUseIncludeMemo()) {
+			includeMemo = createIncludeMemo(orchestrator.getPlugin());
+		} else {
+			includeMemo = null;
+		}
+	}
+
+	protected LibSequenceIncludeMemo createIncludeMemo(Plugin plugin) {
+		return new LibSequenceIncludeMemo(plugin, playerManager);
+	}
+
+	/**
+	 * Get the include memo, or NULL if it's not enabled
+	 */
+	public LibSequenceIncludeMemo getIncludeMemo() {
+		return includeMemo;
 	}
 
 	public void registerInclude(String includeName, LibSequenceInclude include) throws LibSequenceIncludeException {
@@ -74,9 +100,32 @@ public class LibSequenceIncludeManager {
 		return (!valueText.isEmpty()) && (valueText.substring(0, 1).equals(operatorChar));
 	}
 
+	// Remove the exclude and inverse operators, they are never part of a
+	// placeholder value
+	protected String stripOperators(String valueText) {
+		if (hasOperator(valueText, "-")) {
+			valueText = valueText.substring(1);
+		}
+		if (hasOperator(valueText, "!")) {
+			valueText = valueText.substring(1);
+		}
+		return valueText;
+	}
+
 	protected void singleInclude(String includeName, LibSequenceRunningSequence runningSequence,
-			LibSequenceConfigStep configStep, Set<CommandSender> sendersInclude, Set<CommandSender> sendersExclude)
+			LibSequenceConfigStep configStep, LibSequenceTargetSet sendersInclude, LibSequenceTargetSet sendersExclude,
+			List<PreparedInclude> filtersInclude, List<PreparedInclude> filtersExclude)
 			throws LibSequenceIncludeException {
+		singleInclude(includeName, runningSequence, configStep, null, sendersInclude, sendersExclude, filtersInclude,
+				filtersExclude);
+	}
+
+	// If the value is already resolved (without the operators), the include
+	// gets the resolved value instead of the config value
+	protected void singleInclude(String includeName, LibSequenceRunningSequence runningSequence,
+			LibSequenceConfigStep configStep, String resolvedValue, LibSequenceTargetSet sendersInclude,
+			LibSequenceTargetSet sendersExclude, List<PreparedInclude> filtersInclude,
+			List<PreparedInclude> filtersExclude) throws LibSequenceIncludeException {
 		try {
 			LibSequenceInclude include = getIncludeByName(includeName);
 
@@ -96,11 +145,31 @@ public class LibSequenceIncludeManager {
 				valueText = valueText.substring(1);
 			}
 
-			Set<CommandSender> mySenders = include.performInclude(includeName, valueText, isInverse, runningSequence);
+			if (resolvedValue != null) {
+				valueText = resolvedValue;
+			}
+
+			// Filters are not evaluated here, they are collected for the single
+			// pass over the online players
+			if ((include instanceof LibSequenceIncludeFilter includeFilter)
+					&& !includeFilter.canEnumerate(includeName, isInverse)) {
+				LibSequenceIncludePredicate predicate = includeFilter.prepareInclude(includeName, valueText,
+						isInverse, runningSequence);
+				if (predicate != null) {
+					PreparedInclude preparedInclude = new PreparedInclude(includeName, predicate);
+					if (isExclude) {
+						filtersExclude.add(preparedInclude);
+					} else {
+						filtersInclude.add(preparedInclude);
+					}
+				}
+				return;
+			}
+
 			if (isExclude) {
-				sendersExclude.addAll(mySenders);
+				include.collectInclude(includeName, valueText, isInverse, runningSequence, sendersExclude);
 			} else {
-				sendersInclude.addAll(mySenders);
+				include.collectInclude(includeName, valueText, isInverse, runningSequence, sendersInclude);
 			}
 		} catch (LibSequenceIncludeException e) {
 			throw e;
@@ -111,21 +180,148 @@ public class LibSequenceIncludeManager {
 		}
 	}
 
-	public Set<CommandSender> performIncludes(LibSequenceRunningSequence runningSequence,
+	// Stops at the first matching filter
+	protected boolean matchesAny(List<PreparedInclude> filters, Player player) throws LibSequenceIncludeException {
+		for (PreparedInclude filter : filters) {
+			try {
+				if (filter.predicate().test(player)) {
+					return true;
+				}
+			} catch (LibSequenceIncludeException e) {
+				throw e;
+			} catch (LibSequenceException e) {
+				throw new LibSequenceIncludeException(filter.includeName(), e);
+			} catch (Exception e) {
+				throw new LibSequenceIncludeException(filter.includeName(), LSIERR_JAVA_EXCEPTION, null, e);
+			}
+		}
+		return false;
+	}
+
+	// Walk the online players only once. The include side is tested first, so
+	// the excludes are only evaluated for players who would be added at all.
+	protected void scanOnlinePlayers(LibSequenceTargetSet sendersInclude, LibSequenceTargetSet sendersExclude,
+			List<PreparedInclude> filtersInclude, List<PreparedInclude> filtersExclude)
+			throws LibSequenceIncludeException {
+		int slotLimit = playerManager.getSlotLimit();
+		for (int slot = 0; slot < slotLimit; slot++) {
+			Player player = playerManager.getPlayer(slot);
+			if (player == null) {
+				continue;
+			}
+			boolean isIncluded = sendersInclude.containsSlot(slot) || matchesAny(filtersInclude, player);
+			if (!isIncluded) {
+				continue;
+			}
+			if (sendersExclude.containsSlot(slot) || matchesAny(filtersExclude, player)) {
+				sendersInclude.removeSlot(slot);
+			} else {
+				sendersInclude.addSlot(slot);
+			}
+		}
+	}
+
+	protected LibSequenceTargetSet mergeIncludes(LibSequenceTargetSet sendersInclude,
+			LibSequenceTargetSet sendersExclude, List<PreparedInclude> filtersInclude,
+			List<PreparedInclude> filtersExclude) throws LibSequenceIncludeException {
+		if (!filtersInclude.isEmpty() || !filtersExclude.isEmpty()) {
+			scanOnlinePlayers(sendersInclude, sendersExclude, filtersInclude, filtersExclude);
+		}
+
+		// Non-player targets (e.g. the console) are not part of the scan
+		sendersInclude.removeAll(sendersExclude);
+		return sendersInclude;
+	}
+
+	// Resolve the include values once for the memo key, the includes get the
+	// same values. A value which still contains a % sign would be resolved
+	// again by the include, so such a step is not remembered.
+	// Errors are reported by the normal evaluation.
+	protected List<String> resolveIncludeValues(LibSequenceRunningSequence runningSequence,
+			LibSequenceConfigCompiledStep compiledStep) {
+		LibSequenceConfigStep configStep = compiledStep.getConfigStep();
+		List<String> resolvedValues = new ArrayList<>(compiledStep.getIncludeKeys().size());
+		for (String includeName : compiledStep.getIncludeKeys()) {
+			String resolvedValue;
+			try {
+				resolvedValue = runningSequence.resolvePlaceholder(includeName,
+						stripOperators(configStep.findValue(includeName)));
+			} catch (Exception e) {
+				return null;
+			}
+			if ((resolvedValue == null)
+					|| (resolvedValue.indexOf(LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER) >= 0)) {
+				return null;
+			}
+			resolvedValues.add(resolvedValue);
+		}
+		return resolvedValues;
+	}
+
+	/**
+	 * Same as performIncludes, but return the targets as bitset-based target set
+	 */
+	public LibSequenceTargetSet performIncludeTargets(LibSequenceRunningSequence runningSequence,
 			LibSequenceConfigStep configStep) throws LibSequenceIncludeException {
-		Set<CommandSender> sendersInclude = new HashSet<>();
-		Set<CommandSender> sendersExclude = new HashSet<>();
+		LibSequenceTargetSet sendersInclude = playerManager.createTargetSet();
+		LibSequenceTargetSet sendersExclude = playerManager.createTargetSet();
+		List<PreparedInclude> filtersInclude = new ArrayList<>();
+		List<PreparedInclude> filtersExclude = new ArrayList<>();
+
+		LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+		if (compiledStep != null) {
+			LibSequenceIncludeMemo.MemoKey memoKey = null;
+			List<String> resolvedValues = null;
+			if ((includeMemo != null) && includeMemo.isCacheable(compiledStep, includeMap)) {
+				resolvedValues = resolveIncludeValues(runningSequence, compiledStep);
+				if (resolvedValues != null) {
+					memoKey = includeMemo.buildKey(compiledStep, resolvedValues);
+					LibSequenceTargetSet memoTargets = includeMemo.find(memoKey);
+					if (memoTargets != null) {
+						return memoTargets;
+					}
+				}
+			}
+
+			List<String> includeKeys = compiledStep.getIncludeKeys();
+			for (int i = 0; i < includeKeys.size(); i++) {
+				singleInclude(includeKeys.get(i), runningSequence, configStep,
+						(resolvedValues == null) ? null : resolvedValues.get(i), sendersInclude, sendersExclude,
+						filtersInclude, filtersExclude);
+			}
+			LibSequenceTargetSet targets = mergeIncludes(sendersInclude, sendersExclude, filtersInclude,
+					filtersExclude);
+			if (memoKey != null) {
+				includeMemo.put(memoKey, targets);
+			}
+			return targets;
+		}
 
 		for (String keyText : configStep.getAttributeKeys()) {
 
 			// Tests if key is an include (because it could also be another action-related
 			// attribute)
 			if (isValidIncludeName(keyText)) {
-				singleInclude(keyText, runningSequence, configStep, sendersInclude, sendersExclude);
+				singleInclude(keyText, runningSequence, configStep, sendersInclude, sendersExclude, filtersInclude,
+						filtersExclude);
 			}
 		}
-		sendersInclude.removeAll(sendersExclude);
-		return sendersInclude;
+		return mergeIncludes(sendersInclude, sendersExclude, filtersInclude, filtersExclude);
+	}
+
+	/**
+	 * Get the targets of a step as a set. The set is a copy owned by the caller,
+	 * so it can be modified and kept beyond the current tick.
+	 */
+	public Set<CommandSender> performIncludes(LibSequenceRunningSequence runningSequence,
+			LibSequenceConfigStep configStep) throws LibSequenceIncludeException {
+		return new HashSet<>(performIncludeTargets(runningSequence, configStep).asSet());
+	}
+
+	/**
+	 * A filter-include which is ready for the scan
+	 */
+	protected record PreparedInclude(String includeName, LibSequenceIncludePredicate predicate) {
 	}
 
 }
@@ -0,0 +1,117 @@
+package de.polarwolf.libsequence.includes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
+
+/**
+ * Remembers the include results of the current tick. If many instances of the
+ * same sequence reach the same step in the same tick (e.g. an announcement
+ * started once for each player), the includes are evaluated only once.
+ *
+ * The key is the compiled step together with the include values after
+ * placeholder resolution. A step is only remembered if all of its includes
+ * declare themselves as cacheable, so results depending on the initiator are
+ * never shared. The memo is cleared at the start of the next tick, and also
+ * as soon as a player joins, quits or changes the world.
+ *
+ * The memo is optional, it's only used if enabled in the start options.
+ *
+ * @see de.polarwolf.libsequence.includes.LibSequenceInclude#isCacheable()
+ *      LibSequenceInclude.isCacheable
+ */
+public class LibSequenceIncludeMemo {
+
+	protected final Plugin plugin;
+	protected final LibSequencePlayerManager playerManager;
+	protected final Map<MemoKey, LibSequenceTargetSet> memo = new HashMap<>();
+
+	private long memoModificationCount = 0;
+	private boolean bClearScheduled = false;
+
+	public LibSequenceIncludeMemo(Plugin plugin, LibSequencePlayerManager playerManager) {
+		this.plugin = plugin;
+		this.playerManager = playerManager;
+	}
+
+	public int size() {
+		return memo.size();
+	}
+
+	public void clear() {
+		memo.clear();
+	}
+
+	/**
+	 * Check if the result of the given step can be remembered. This is only the
+	 * case if all of its includes are cacheable.
+	 */
+	public boolean isCacheable(LibSequenceConfigCompiledStep compiledStep, Map<String, LibSequenceInclude> includeMap) {
+		for (String includeName : compiledStep.getIncludeKeys()) {
+			LibSequenceInclude include = includeMap.get(includeName);
+			if ((include == null) || !include.isCacheable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Build the key for the given step
+	 *
+	 * @param resolvedValues The include values after placeholder resolution, as
+	 *                       already resolved by the IncludeManager
+	 */
+	public MemoKey buildKey(LibSequenceConfigCompiledStep compiledStep, List<String> resolvedValues) {
+		return new MemoKey(compiledStep, List.copyOf(resolvedValues));
+	}
+
+	/**
+	 * Get a copy of the remembered result, or NULL if there is none
+	 */
+	public LibSequenceTargetSet find(MemoKey memoKey) {
+		if (memoModificationCount != playerManager.getModificationCount()) {
+			memo.clear();
+			return null;
+		}
+		LibSequenceTargetSet targets = memo.get(memoKey);
+		if (targets == null) {
+			return null;
+		}
+		return targets.copy();
+	}
+
+	public void put(MemoKey memoKey, LibSequenceTargetSet targets) {
+		if (memoModificationCount != playerManager.getModificationCount()) {
+			memo.clear();
+			memoModificationCount = playerManager.getModificationCount();
+		}
+		memo.put(memoKey, targets.copy());
+		scheduleClear();
+	}
+
+	protected void scheduleClear() {
+		if (bClearScheduled) {
+			return;
+		}
+		bClearScheduled = true;
+		Bukkit.getScheduler().runTask(plugin, () -> {
+			bClearScheduled = false;
+			memo.clear();
+		});
+	}
+
+	/**
+	 * The compiled step has no equals, so it is compared by identity
+	 */
+	public record MemoKey(LibSequenceConfigCompiledStep compiledStep, List<String> resolvedValues) {
+	}
+
+}
@@ -1,12 +1,5 @@
 package de.polarwolf.libsequence.includes;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
@@ -19,28 +12,26 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * sophisticated condition including placeholders.
  *
  */
-public class LibSequenceIncludeOperator implements LibSequenceInclude {
+public class LibSequenceIncludeOperator implements LibSequenceIncludeFilter {
 
 	public static final String AUTOOP = "luckperms.autoop";
 
 	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+	public boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
 		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
-		Set<CommandSender> senders = new HashSet<>();
 
 		boolean isCondition = runningSequence.resolveCondition(valueText);
 		if (!(isCondition ^ inverseSearch)) {
-			return senders;
-		}
-
-		for (Player player : Bukkit.getOnlinePlayers()) {
-			if (player.isOp() || player.hasPermission(AUTOOP)) {
-				senders.add(player);
-			}
+			return null;
 		}
 
-		return senders;
+		return player -> runningSequence.getPlayerState(player).isOperator();
 	}
 
 }
@@ -2,14 +2,10 @@ package de.polarwolf.libsequence.includes;
 
 import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_VALUE_MISSING;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequencePermissionIndex;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -19,26 +15,63 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * adds all players not having the permission.
  *
  */
-public class LibSequenceIncludePermission implements LibSequenceInclude {
+public class LibSequenceIncludePermission implements LibSequenceIncludeFilter {
 
-	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+	protected final LibSequencePlayerManager playerManager;
+
+	public LibSequenceIncludePermission() {
+		this(null);
+	}
+
+	/**
+	 * @param playerManager The PlayerManager which may have a permission index,
+	 *                      or NULL to ask each player
+	 */
+	public LibSequenceIncludePermission(LibSequencePlayerManager playerManager) {
+		this.playerManager = playerManager;
+	}
+
+	protected LibSequencePermissionIndex getPermissionIndex() {
+		if (playerManager == null) {
+			return null;
+		}
+		return playerManager.getPermissionIndex();
+	}
+
+	protected String resolvePermissionName(String includeName, String valueText,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
-		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
-		if (valueText.isEmpty()) {
+		String permissionName = runningSequence.resolvePlaceholder(includeName, valueText);
+		if (permissionName.isEmpty()) {
 			throw new LibSequenceIncludeException(includeName, LSIERR_VALUE_MISSING, null);
 		}
+		return permissionName;
+	}
 
-		Set<CommandSender> senders = new HashSet<>();
-		for (Player player : Bukkit.getOnlinePlayers()) {
-			boolean hasPermission = player.hasPermission(valueText);
-			// Now it gets tricky: ^ is the XOR operator, this is not math square
-			if (hasPermission ^ inverseSearch) {
-				senders.add(player);
-			}
-		}
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
+		String permissionName = resolvePermissionName(includeName, valueText, runningSequence);
 
-		return senders;
+		// Now it gets tricky: ^ is the XOR operator, this is not math square
+		return player -> player.hasPermission(permissionName) ^ inverseSearch;
+	}
+
+	// With the index, the holders of the permission can be taken as they are
+	@Override
+	public boolean canEnumerate(String includeName, boolean inverseSearch) {
+		return getPermissionIndex() != null;
+	}
+
+	@Override
+	public void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		String permissionName = resolvePermissionName(includeName, valueText, runningSequence);
+		targets.addPermission(permissionName, inverseSearch);
 	}
 
 }
@@ -0,0 +1,19 @@
+package de.polarwolf.libsequence.includes;
+
+import org.bukkit.entity.Player;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+/**
+ * Test a single online player against a prepared include. The inverse operator
+ * "!" is already applied by the include which has created the predicate.
+ *
+ * @see de.polarwolf.libsequence.includes.LibSequenceIncludeFilter
+ *      LibSequenceIncludeFilter
+ */
+@FunctionalInterface
+public interface LibSequenceIncludePredicate {
+
+	public boolean test(Player player) throws LibSequenceException;
+
+}
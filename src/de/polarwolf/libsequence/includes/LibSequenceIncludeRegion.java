@@ -2,15 +2,10 @@ package de.polarwolf.libsequence.includes;
 
 import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_VALUE_MISSING;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.integrations.LibSequenceIntegrationWorldguard;
+import de.polarwolf.libsequence.integrations.LibSequenceIntegrationWorldguardIndex;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -22,34 +17,68 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * @author Tikart
  *
  */
-public class LibSequenceIncludeRegion implements LibSequenceInclude {
+public class LibSequenceIncludeRegion implements LibSequenceIncludeFilter {
 
 	protected final LibSequenceIntegrationWorldguard integrationWorldguard;
+	protected final LibSequenceIntegrationWorldguardIndex integrationWorldguardIndex;
 
 	public LibSequenceIncludeRegion(LibSequenceIntegrationWorldguard integrationWorldguard) {
+		this(integrationWorldguard, null);
+	}
+
+	/**
+	 * @param integrationWorldguardIndex The region index, or NULL to test the
+	 *                                   player positions on each call
+	 */
+	public LibSequenceIncludeRegion(LibSequenceIntegrationWorldguard integrationWorldguard,
+			LibSequenceIntegrationWorldguardIndex integrationWorldguardIndex) {
 		this.integrationWorldguard = integrationWorldguard;
+		this.integrationWorldguardIndex = integrationWorldguardIndex;
 	}
 
-	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+	protected String resolveRegionName(String includeName, String valueText,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
-		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
-		if (valueText.isEmpty()) {
+		String regionName = runningSequence.resolvePlaceholder(includeName, valueText);
+		if (regionName.isEmpty()) {
 			throw new LibSequenceIncludeException(includeName, LSIERR_VALUE_MISSING, null);
 		}
+		return regionName;
+	}
 
-		Set<CommandSender> senders = new HashSet<>();
-		for (Player player : Bukkit.getOnlinePlayers()) {
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
 
-			boolean isInside = integrationWorldguard.testPlayer(player, valueText);
+	@Override
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
+		String regionName = resolveRegionName(includeName, valueText, runningSequence);
 
-			// Now it gets tricky: ^ is the XOR operator, this is not math square
-			if (isInside ^ inverseSearch) {
-				senders.add(player);
-			}
+		// Now it gets tricky: ^ is the XOR operator, this is not math square
+		if (integrationWorldguardIndex != null) {
+			return player -> integrationWorldguardIndex.testPlayer(player, regionName) ^ inverseSearch;
 		}
+		return player -> integrationWorldguard.testPlayerState(runningSequence.getPlayerState(player), regionName)
+				^ inverseSearch;
+	}
+
+	// With the index, the members of the region can be taken as they are
+	@Override
+	public boolean canEnumerate(String includeName, boolean inverseSearch) {
+		return (integrationWorldguardIndex != null) && !inverseSearch;
+	}
 
-		return senders;
+	@Override
+	public void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		if (!canEnumerate(includeName, inverseSearch)) {
+			LibSequenceIncludeFilter.super.collectInclude(includeName, valueText, inverseSearch, runningSequence,
+					targets);
+			return;
+		}
+		String regionName = resolveRegionName(includeName, valueText, runningSequence);
+		targets.addAll(integrationWorldguardIndex.findMembers(regionName));
 	}
 
 }
@@ -2,14 +2,8 @@ package de.polarwolf.libsequence.includes;
 
 import static de.polarwolf.libsequence.includes.LibSequenceIncludeErrors.LSIERR_VALUE_MISSING;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 
 /**
@@ -17,26 +11,46 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
  * "world_the_end".
  *
  */
-public class LibSequenceIncludeWorld implements LibSequenceInclude {
+public class LibSequenceIncludeWorld implements LibSequenceIncludeFilter {
 
-	@Override
-	public Set<CommandSender> performInclude(String includeName, String valueText, boolean inverseSearch,
+	protected String resolveWorldName(String includeName, String valueText,
 			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
-		valueText = runningSequence.resolvePlaceholder(includeName, valueText);
-		if (valueText.isEmpty()) {
+		String worldName = runningSequence.resolvePlaceholder(includeName, valueText);
+		if (worldName.isEmpty()) {
 			throw new LibSequenceIncludeException(includeName, LSIERR_VALUE_MISSING, null);
 		}
+		return worldName;
+	}
 
-		Set<CommandSender> senders = new HashSet<>();
-		for (Player player : Bukkit.getOnlinePlayers()) {
-			boolean isInWorld = player.getWorld().getName().equals(valueText);
-			// Now it gets tricky: ^ is the XOR operator, this is not math square
-			if (isInWorld ^ inverseSearch) {
-				senders.add(player);
-			}
-		}
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
 
-		return senders;
+	@Override
+	public LibSequenceIncludePredicate prepareInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence) throws LibSequenceException {
+		String worldName = resolveWorldName(includeName, valueText, runningSequence);
+
+		// Now it gets tricky: ^ is the XOR operator, this is not math square
+		return player -> runningSequence.getPlayerState(player).isInWorld(worldName) ^ inverseSearch;
+	}
+
+	// The PlayerManager already knows who is in which world
+	@Override
+	public boolean canEnumerate(String includeName, boolean inverseSearch) {
+		return true;
+	}
+
+	@Override
+	public void collectInclude(String includeName, String valueText, boolean inverseSearch,
+			LibSequenceRunningSequence runningSequence, LibSequenceTargetSet targets) throws LibSequenceException {
+		String worldName = resolveWorldName(includeName, valueText, runningSequence);
+		if (inverseSearch) {
+			targets.addAllPlayersOutsideWorld(worldName);
+		} else {
+			targets.addWorld(worldName);
+		}
 	}
 
 }
@@ -14,19 +14,38 @@ import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
 public class LibSequenceIntegrationManager {
 
 	protected final LibSequenceIntegrationPlaceholderAPI integrationPlaceholderAPI;
+	protected final LibSequenceIntegrationPlaceholderAPIListener integrationPlaceholderAPIListener;
 	protected final LibSequenceIntegrationWorldguard integrationWorldguard;
+	protected final LibSequenceIntegrationWorldguardListener integrationWorldguardListener;
+	protected final LibSequenceIntegrationWorldguardIndex integrationWorldguardIndex;
 
-	public LibSequenceIntegrationManager(LibSequenceOrchestrator orchestrator) { // NOSONAR
+	public LibSequenceIntegrationManager(LibSequenceOrchestrator orchestrator) {
 		if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
 			integrationPlaceholderAPI = new LibSequenceIntegrationPlaceholderAPI();
+			integrationPlaceholderAPIListener = new LibSequenceIntegrationPlaceholderAPIListener(
+					orchestrator.getPlugin(), integrationPlaceholderAPI);
+			integrationPlaceholderAPIListener.registerListener();
 		} else {
 			integrationPlaceholderAPI = null;
+			integrationPlaceholderAPIListener = null;
 		}
 		if ((Bukkit.getPluginManager().getPlugin("WorldEdit") != null)
 				&& (Bukkit.getPluginManager().getPlugin("WorldGuard") != null)) {
 			integrationWorldguard = new LibSequenceIntegrationWorldguard();
+			integrationWorldguardListener = new LibSequenceIntegrationWorldguardListener(orchestrator.getPlugin(),
+					integrationWorldguard);
+			integrationWorldguardListener.registerListener();
+			if (orchestrator.isUseRegionIndex()) {
+				integrationWorldguardIndex = new LibSequenceIntegrationWorldguardIndex(orchestrator.getPlugin(),
+						integrationWorldguard);
+				integrationWorldguardIndex.registerListener();
+			} else {
+				integrationWorldguardIndex = null;
+			}
 		} else {
 			integrationWorldguard = null;
+			integrationWorldguardListener = null;
+			integrationWorldguardIndex = null;
 		}
 	}
 
@@ -46,4 +65,23 @@ public class LibSequenceIntegrationManager {
 		return integrationWorldguard;
 	}
 
+	/**
+	 * Get the region index, or NULL if it's not enabled
+	 */
+	public LibSequenceIntegrationWorldguardIndex getWorldguardIndex() {
+		return integrationWorldguardIndex;
+	}
+
+	public void disable() {
+		if (integrationPlaceholderAPIListener != null) {
+			integrationPlaceholderAPIListener.unregisterListener();
+		}
+		if (integrationWorldguardListener != null) {
+			integrationWorldguardListener.unregisterListener();
+		}
+		if (integrationWorldguardIndex != null) {
+			integrationWorldguardIndex.unregisterListener();
+		}
+	}
+
 }
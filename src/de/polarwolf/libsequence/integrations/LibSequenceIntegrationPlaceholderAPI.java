@@ -1,18 +1,36 @@
 package de.polarwolf.libsequence.integrations;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.bukkit.entity.Player;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import me.clip.placeholderapi.PlaceholderAPI;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 
 /**
  * Integration to placeholder API (PAPI)
  *
+ * A single placeholder can be requested directly from its expansion, so PAPI
+ * does not need to parse the text again. The expansion is looked up by the
+ * identifier (the part before the first "_") and is cached. Expansions can be
+ * registered and unregistered at runtime, so the listener drops the cached
+ * lookup when PAPI registers or unregisters an expansion. If there is no
+ * expansion for the identifier, the placeholder is given to PAPI as text.
+ *
+ * @see de.polarwolf.libsequence.integrations.LibSequenceIntegrationPlaceholderAPIListener
+ *      LibSequenceIntegrationPlaceholderAPIListener
  */
 public class LibSequenceIntegrationPlaceholderAPI {
 
 	public static final String PLACEHOLDER_API_NAME = "PlaceholderAPI";
 
+	// Cached values are read on worker threads, too
+	protected final Map<String, CachedExpansion> expansionCache = new ConcurrentHashMap<>();
+
 	public String setPlaceholders(Player player, String text) throws LibSequenceIntegrationException {
 		try {
 			return PlaceholderAPI.setPlaceholders(player, text);
@@ -22,4 +40,73 @@ public class LibSequenceIntegrationPlaceholderAPI {
 		}
 	}
 
+	/**
+	 * Find the expansion for an identifier
+	 *
+	 * @param identifier The identifier in lower case
+	 * @return The expansion, or NULL if there is no expansion for this identifier
+	 */
+	public PlaceholderExpansion findExpansion(String identifier) {
+		CachedExpansion cachedExpansion = expansionCache.get(identifier);
+		if (cachedExpansion != null) {
+			return cachedExpansion.expansion();
+		}
+
+		PlaceholderExpansion expansion = null;
+		PlaceholderAPIPlugin placeholderAPIPlugin = PlaceholderAPIPlugin.getInstance();
+		if ((placeholderAPIPlugin != null) && (placeholderAPIPlugin.getLocalExpansionManager() != null)) {
+			expansion = placeholderAPIPlugin.getLocalExpansionManager().findExpansionByIdentifier(identifier)
+					.orElse(null);
+		}
+		expansionCache.put(identifier, new CachedExpansion(expansion));
+		return expansion;
+	}
+
+	public void invalidateCache() {
+		expansionCache.clear();
+	}
+
+	/**
+	 * Drop the cached lookup of the identifier of the given expansion
+	 */
+	public void invalidateCache(PlaceholderExpansion expansion) {
+		if ((expansion == null) || (expansion.getIdentifier() == null)) {
+			invalidateCache();
+			return;
+		}
+		expansionCache.remove(expansion.getIdentifier().toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Resolve one placeholder
+	 *
+	 * @param player          The player to resolve the placeholder for, can be
+	 *                        NULL
+	 * @param placeholderName The full placeholder name without the % signs
+	 * @param identifier      The part of the name before the first "_", in lower
+	 *                        case
+	 * @param params          The part of the name after the first "_"
+	 * @return The value, or NULL if the placeholder could not be resolved
+	 */
+	public String requestPlaceholder(Player player, String placeholderName, String identifier, String params)
+			throws LibSequenceIntegrationException {
+		PlaceholderExpansion expansion = findExpansion(identifier);
+		String placeholderText = "%" + placeholderName + "%";
+		if (expansion == null) {
+			String value = setPlaceholders(player, placeholderText);
+			return placeholderText.equals(value) ? null : value;
+		}
+
+		try {
+			return expansion.onRequest(player, params);
+		} catch (Exception e) {
+			throw new LibSequenceIntegrationException(PLACEHOLDER_API_NAME, LibSequenceException.JAVA_EXCEPTION,
+					"\"" + placeholderText + "\"", e);
+		}
+	}
+
+	// The expansion can be NULL, which the ConcurrentHashMap cannot store directly
+	protected record CachedExpansion(PlaceholderExpansion expansion) {
+	}
+
 }
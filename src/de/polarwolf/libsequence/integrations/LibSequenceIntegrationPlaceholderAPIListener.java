@@ -0,0 +1,47 @@
+package de.polarwolf.libsequence.integrations;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import me.clip.placeholderapi.events.ExpansionRegisterEvent;
+import me.clip.placeholderapi.events.ExpansionUnregisterEvent;
+
+/**
+ * Helper for dropping the cached PlaceholderAPI expansions when an expansion
+ * is registered or unregistered
+ *
+ */
+public class LibSequenceIntegrationPlaceholderAPIListener implements Listener {
+
+	protected final Plugin plugin;
+	protected final LibSequenceIntegrationPlaceholderAPI integrationPlaceholderAPI;
+
+	public LibSequenceIntegrationPlaceholderAPIListener(Plugin plugin,
+			LibSequenceIntegrationPlaceholderAPI integrationPlaceholderAPI) {
+		this.plugin = plugin;
+		this.integrationPlaceholderAPI = integrationPlaceholderAPI;
+	}
+
+	public void registerListener() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+	}
+
+	public void unregisterListener() {
+		HandlerList.unregisterAll(this);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onExpansionRegister(ExpansionRegisterEvent event) {
+		integrationPlaceholderAPI.invalidateCache(event.getExpansion());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onExpansionUnregister(ExpansionUnregisterEvent event) {
+		integrationPlaceholderAPI.invalidateCache(event.getExpansion());
+	}
+
+}
@@ -1,5 +1,11 @@
 package de.polarwolf.libsequence.integrations;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -11,10 +17,16 @@ import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 
 import de.polarwolf.libsequence.exception.LibSequenceException;
+import de.polarwolf.libsequence.players.LibSequencePlayerState;
 
 /**
  * Integration to Worldguard
  *
+ * The region handles are cached per world and region name. WorldGuard does not
+ * tell us when a region is redefined or removed, so a cached handle is looked
+ * up again after REVALIDATE_MILLIS. The cache is dropped completely on reload
+ * and per world when the world is unloaded.
+ *
  */
 public class LibSequenceIntegrationWorldguard {
 
@@ -23,6 +35,10 @@ public class LibSequenceIntegrationWorldguard {
 	public static final String ERR_NOWORLD = "world not found";
 	public static final String ERR_NOREGION = "region not found";
 
+	public static final long REVALIDATE_MILLIS = 1000;
+
+	protected final Map<UUID, Map<String, CachedRegion>> regionCache = new HashMap<>();
+
 	protected RegionManager getRegionManager(World world) throws LibSequenceIntegrationException {
 		try {
 			return WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
@@ -52,12 +68,7 @@ public class LibSequenceIntegrationWorldguard {
 		}
 	}
 
-	public boolean testPlayer(Player player, String regionName) throws LibSequenceIntegrationException {
-		if ((player == null) || (regionName == null) || (regionName.isEmpty())) {
-			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_GENERIC, null);
-		}
-
-		World world = player.getWorld();
+	protected ProtectedRegion lookupRegion(World world, String regionName) throws LibSequenceIntegrationException {
 		RegionManager regionManager = getRegionManager(world);
 		if (regionManager == null) {
 			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_NOWORLD, null);
@@ -67,11 +78,98 @@ public class LibSequenceIntegrationWorldguard {
 		if (protectedRegion == null) {
 			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_NOREGION, regionName);
 		}
+		return protectedRegion;
+	}
+
+	/**
+	 * Get the region handle from the cache, or look it up if it is missing or
+	 * too old. A missing region is not cached, so the error is reported again on
+	 * the next call.
+	 */
+	public ProtectedRegion findRegion(World world, String regionName) throws LibSequenceIntegrationException {
+		if ((world == null) || (regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_GENERIC, null);
+		}
+
+		long now = System.currentTimeMillis();
+		Map<String, CachedRegion> worldCache = regionCache.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+		CachedRegion cachedRegion = worldCache.get(regionName);
+		if ((cachedRegion != null) && (now < cachedRegion.validUntil())) {
+			return cachedRegion.protectedRegion();
+		}
+
+		worldCache.remove(regionName);
+		ProtectedRegion protectedRegion = lookupRegion(world, regionName);
+		worldCache.put(regionName, new CachedRegion(protectedRegion, now + REVALIDATE_MILLIS));
+		return protectedRegion;
+	}
 
-		Location location = player.getLocation();
+	public void invalidateCache() {
+		regionCache.clear();
+	}
+
+	public void invalidateCache(World world) {
+		regionCache.remove(world.getUID());
+	}
+
+	protected boolean testLocation(ProtectedRegion protectedRegion, Location location)
+			throws LibSequenceIntegrationException {
 		BlockVector3 vector = BlockVector3.at(location.getX(), location.getY(), location.getZ());
+		return contains(protectedRegion, vector);
+	}
+
+	public boolean testPlayer(Player player, String regionName) throws LibSequenceIntegrationException {
+		if ((player == null) || (regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_GENERIC, null);
+		}
+
+		ProtectedRegion protectedRegion = findRegion(player.getWorld(), regionName);
+		return testLocation(protectedRegion, player.getLocation());
+	}
+
+	/**
+	 * Same as testPlayer, but take the position from the player snapshot
+	 */
+	public boolean testPlayerState(LibSequencePlayerState playerState, String regionName)
+			throws LibSequenceIntegrationException {
+		if ((playerState == null) || (regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_GENERIC, null);
+		}
 
+		ProtectedRegion protectedRegion = findRegion(playerState.world(), regionName);
+		BlockVector3 vector = BlockVector3.at(playerState.blockX(), playerState.blockY(), playerState.blockZ());
 		return contains(protectedRegion, vector);
 	}
 
+	/**
+	 * Test many players against one region. The region is looked up only once
+	 * per world, not once per player.
+	 *
+	 * @return The players inside the region
+	 */
+	public List<Player> findPlayersInside(Iterable<? extends Player> players, String regionName)
+			throws LibSequenceIntegrationException {
+		if ((players == null) || (regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(WORLDGUARD_NAME, ERR_GENERIC, null);
+		}
+
+		List<Player> insidePlayers = new ArrayList<>();
+		World lastWorld = null;
+		ProtectedRegion protectedRegion = null;
+		for (Player player : players) {
+			World world = player.getWorld();
+			if (world != lastWorld) {
+				protectedRegion = findRegion(world, regionName);
+				lastWorld = world;
+			}
+			if (testLocation(protectedRegion, player.getLocation())) {
+				insidePlayers.add(player);
+			}
+		}
+		return insidePlayers;
+	}
+
+	protected record CachedRegion(ProtectedRegion protectedRegion, long validUntil) {
+	}
+
 }
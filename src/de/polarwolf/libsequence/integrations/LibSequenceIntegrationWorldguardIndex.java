@@ -0,0 +1,292 @@
+package de.polarwolf.libsequence.integrations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleEnterEvent;
+import org.bukkit.event.vehicle.VehicleExitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+
+import de.polarwolf.libsequence.reload.LibSequenceReloadedEvent;
+
+/**
+ * Keeps track of the players inside the WorldGuard regions used by the
+ * sequences, so include_region and check_region do not need to test the
+ * position of each player on each call.
+ *
+ * A region is tracked from the first time it is queried. After that the
+ * membership is only updated when a player enters a different block, changes
+ * the world, respawns, joins or quits. On reload all tracked regions are
+ * dropped, so regions no longer used by any sequence are not tracked anymore.
+ * If WorldGuard hands out a new handle for the region (e.g. after a redefine),
+ * the membership is rebuilt on the next query.
+ *
+ * A player riding a vehicle gets no PlayerMoveEvent, so the riders are kept in
+ * a separate set and only their position is tested directly on each query.
+ * After leaving the vehicle the membership is updated in the next tick.
+ *
+ * The index is optional, it's only created if enabled in the start options.
+ *
+ */
+public class LibSequenceIntegrationWorldguardIndex implements Listener {
+
+	protected final Plugin plugin;
+	protected final LibSequenceIntegrationWorldguard integrationWorldguard;
+	protected final Map<UUID, Map<String, TrackedRegion>> trackedRegions = new HashMap<>();
+	protected final Set<Player> riders = new HashSet<>();
+
+	public LibSequenceIntegrationWorldguardIndex(Plugin plugin, LibSequenceIntegrationWorldguard integrationWorldguard) {
+		this.plugin = plugin;
+		this.integrationWorldguard = integrationWorldguard;
+	}
+
+	public void registerListener() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (player.isInsideVehicle()) {
+				riders.add(player);
+			}
+		}
+	}
+
+	public void unregisterListener() {
+		HandlerList.unregisterAll(this);
+		trackedRegions.clear();
+		riders.clear();
+	}
+
+	public int getNumberOfTrackedRegions() {
+		int count = 0;
+		for (Map<String, TrackedRegion> worldRegions : trackedRegions.values()) {
+			count = count + worldRegions.size();
+		}
+		return count;
+	}
+
+	protected TrackedRegion findTrackedRegion(World world, String regionName) throws LibSequenceIntegrationException {
+		ProtectedRegion protectedRegion = integrationWorldguard.findRegion(world, regionName);
+		Map<String, TrackedRegion> worldRegions = trackedRegions.computeIfAbsent(world.getUID(),
+				k -> new HashMap<>());
+		TrackedRegion trackedRegion = worldRegions.get(regionName);
+		if ((trackedRegion != null) && (trackedRegion.protectedRegion == protectedRegion)) {
+			return trackedRegion;
+		}
+
+		trackedRegion = new TrackedRegion(protectedRegion);
+		for (Player player : world.getPlayers()) {
+			if (integrationWorldguard.testLocation(protectedRegion, player.getLocation())) {
+				trackedRegion.members.add(player);
+			}
+		}
+		worldRegions.put(regionName, trackedRegion);
+		return trackedRegion;
+	}
+
+	/**
+	 * Same as
+	 * {@link de.polarwolf.libsequence.integrations.LibSequenceIntegrationWorldguard#testPlayer
+	 * LibSequenceIntegrationWorldguard.testPlayer}, but answered from the index
+	 */
+	public boolean testPlayer(Player player, String regionName) throws LibSequenceIntegrationException {
+		if ((player == null) || (regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(LibSequenceIntegrationWorldguard.WORLDGUARD_NAME,
+					LibSequenceIntegrationWorldguard.ERR_GENERIC, null);
+		}
+		TrackedRegion trackedRegion = findTrackedRegion(player.getWorld(), regionName);
+		if (riders.contains(player)) {
+			return integrationWorldguard.testLocation(trackedRegion.protectedRegion, player.getLocation());
+		}
+		return trackedRegion.members.contains(player);
+	}
+
+	/**
+	 * Get all online players inside the region. As with testPlayer, the region
+	 * is searched in each world where players are.
+	 */
+	public List<Player> findMembers(String regionName) throws LibSequenceIntegrationException {
+		if ((regionName == null) || (regionName.isEmpty())) {
+			throw new LibSequenceIntegrationException(LibSequenceIntegrationWorldguard.WORLDGUARD_NAME,
+					LibSequenceIntegrationWorldguard.ERR_GENERIC, null);
+		}
+		List<Player> members = new ArrayList<>();
+		for (World world : Bukkit.getWorlds()) {
+			if (world.getPlayers().isEmpty()) {
+				continue;
+			}
+			TrackedRegion trackedRegion = findTrackedRegion(world, regionName);
+			for (Player player : trackedRegion.members) {
+				if (!riders.contains(player)) {
+					members.add(player);
+				}
+			}
+			for (Player player : riders) {
+				if ((player.getWorld() == world)
+						&& integrationWorldguard.testLocation(trackedRegion.protectedRegion, player.getLocation())) {
+					members.add(player);
+				}
+			}
+		}
+		return members;
+	}
+
+	protected void removePlayer(Player player, World world) {
+		if (world == null) {
+			return;
+		}
+		Map<String, TrackedRegion> worldRegions = trackedRegions.get(world.getUID());
+		if (worldRegions != null) {
+			for (TrackedRegion trackedRegion : worldRegions.values()) {
+				trackedRegion.members.remove(player);
+			}
+		}
+	}
+
+	protected void updatePlayer(Player player, World fromWorld, Location to) {
+		World toWorld = to.getWorld();
+		if ((fromWorld != null) && (fromWorld != toWorld)) {
+			removePlayer(player, fromWorld);
+		}
+		if (toWorld == null) {
+			return;
+		}
+
+		Map<String, TrackedRegion> worldRegions = trackedRegions.get(toWorld.getUID());
+		if (worldRegions == null) {
+			return;
+		}
+		for (TrackedRegion trackedRegion : worldRegions.values()) {
+			try {
+				if (integrationWorldguard.testLocation(trackedRegion.protectedRegion, to)) {
+					trackedRegion.members.add(player);
+				} else {
+					trackedRegion.members.remove(player);
+				}
+			} catch (Exception e) {
+				// The membership is unknown now, so start over on the next query
+				e.printStackTrace();
+				worldRegions.clear();
+				return;
+			}
+		}
+	}
+
+	protected boolean isSameBlock(Location from, Location to) {
+		return (from.getWorld() == to.getWorld()) && (from.getBlockX() == to.getBlockX())
+				&& (from.getBlockY() == to.getBlockY()) && (from.getBlockZ() == to.getBlockZ());
+	}
+
+	protected void handleMove(PlayerMoveEvent event) {
+		Location from = event.getFrom();
+		Location to = event.getTo();
+		if ((to == null) || trackedRegions.isEmpty() || isSameBlock(from, to)) {
+			return;
+		}
+		updatePlayer(event.getPlayer(), from.getWorld(), to);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPlayerMove(PlayerMoveEvent event) {
+		handleMove(event);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPlayerTeleport(PlayerTeleportEvent event) {
+		handleMove(event);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onVehicleEnter(VehicleEnterEvent event) {
+		if (event.getEntered() instanceof Player player) {
+			riders.add(player);
+		}
+	}
+
+	// The dismount position is set after the event
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onVehicleExit(VehicleExitEvent event) {
+		if (!(event.getExited() instanceof Player player)) {
+			return;
+		}
+		riders.remove(player);
+		if (!trackedRegions.isEmpty()) {
+			Bukkit.getScheduler().runTask(plugin, () -> {
+				if (player.isOnline()) {
+					updatePlayer(player, null, player.getLocation());
+				}
+			});
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+		Player player = event.getPlayer();
+		updatePlayer(player, event.getFrom(), player.getLocation());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerRespawn(PlayerRespawnEvent event) {
+		Player player = event.getPlayer();
+		updatePlayer(player, player.getWorld(), event.getRespawnLocation());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		Player player = event.getPlayer();
+		updatePlayer(player, null, player.getLocation());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		Player player = event.getPlayer();
+		riders.remove(player);
+		for (Map<String, TrackedRegion> worldRegions : trackedRegions.values()) {
+			for (TrackedRegion trackedRegion : worldRegions.values()) {
+				trackedRegion.members.remove(player);
+			}
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onLibSequenceReloadedEvent(LibSequenceReloadedEvent event) {
+		trackedRegions.clear();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldUnload(WorldUnloadEvent event) {
+		trackedRegions.remove(event.getWorld().getUID());
+	}
+
+	protected static final class TrackedRegion {
+
+		private final ProtectedRegion protectedRegion;
+		private final Set<Player> members = new HashSet<>();
+
+		private TrackedRegion(ProtectedRegion protectedRegion) {
+			this.protectedRegion = protectedRegion;
+		}
+
+	}
+
+}
@@ -0,0 +1,46 @@
+package de.polarwolf.libsequence.integrations;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+import de.polarwolf.libsequence.reload.LibSequenceReloadedEvent;
+
+/**
+ * Helper for dropping the cached WorldGuard regions on reload and world unload
+ *
+ */
+public class LibSequenceIntegrationWorldguardListener implements Listener {
+
+	protected final Plugin plugin;
+	protected final LibSequenceIntegrationWorldguard integrationWorldguard;
+
+	public LibSequenceIntegrationWorldguardListener(Plugin plugin,
+			LibSequenceIntegrationWorldguard integrationWorldguard) {
+		this.plugin = plugin;
+		this.integrationWorldguard = integrationWorldguard;
+	}
+
+	public void registerListener() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+	}
+
+	public void unregisterListener() {
+		HandlerList.unregisterAll(this);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onLibSequenceReloadedEvent(LibSequenceReloadedEvent event) {
+		integrationWorldguard.invalidateCache();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldUnload(WorldUnloadEvent event) {
+		integrationWorldguard.invalidateCache(event.getWorld());
+	}
+
+}
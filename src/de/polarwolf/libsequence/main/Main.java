@@ -1,6 +1,12 @@
 package de.polarwolf.libsequence.main;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.bstats.bukkit.Metrics;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import de.polarwolf.libsequence.api.LibSequenceAPI;
@@ -13,6 +19,9 @@ import de.polarwolf.libsequence.logger.LibSequenceLoggerDefault;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
 import de.polarwolf.libsequence.orchestrator.LibSequenceSequencer;
 import de.polarwolf.libsequence.orchestrator.LibSequenceStartOptions;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderCacheOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunAdmissionOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunQuotaOptions;
 import de.polarwolf.libsequence.token.LibSequenceToken;
 
 /**
@@ -41,6 +50,8 @@ public final class Main extends JavaPlugin {
 		boolean startupEnableAPI = getConfig().getBoolean("startup.enableAPI", true);
 		int startupMaxCurrentSequences = getConfig().getInt("startup.maxCurrentSequences",
 				LibSequenceOrchestrator.DEFAULT_MAX_RUNNING_SEQUENCES);
+		LibSequenceRunAdmissionOptions startupAdmissionQueue = readAdmissionOptions();
+		LibSequenceRunQuotaOptions startupQuotas = readQuotaOptions();
 
 		// Enable bStats Metrics
 		new Metrics(this, PLUGINID_LIBSEQUENCE);
@@ -64,12 +75,32 @@ public final class Main extends JavaPlugin {
 		// read other flags from config
 		boolean orchestratorEnableCommandAction = getConfig().getBoolean("orchestrator.enableCommandAction", true);
 		boolean orchestratorEnableChainEvents = getConfig().getBoolean("orchestrator.enableChainEvents", true);
+		boolean orchestratorEnableTimerWheel = getConfig().getBoolean("orchestrator.enableTimerWheel", true);
+		boolean orchestratorEnableRegionIndex = getConfig().getBoolean("orchestrator.enableRegionIndex", false);
+		boolean orchestratorEnablePermissionIndex = getConfig().getBoolean("orchestrator.enablePermissionIndex",
+				false);
+		boolean orchestratorEnableIncludeCache = getConfig().getBoolean("orchestrator.enableIncludeCache", false);
+		LibSequencePlaceholderCacheOptions orchestratorPlaceholderCache = readPlaceholderCacheOptions();
+		boolean orchestratorEnablePlaceholderSpecialization = getConfig()
+				.getBoolean("orchestrator.enablePlaceholderSpecialization", false);
+		long orchestratorTickBudgetMicros = getConfig().getLong("orchestrator.tickBudgetMicros", 0);
+		int orchestratorWorkerThreads = getConfig().getInt("orchestrator.workerThreads", 0);
 		boolean controllerPublishLocalSequences = getConfig().getBoolean("controller.publishLocalSequences", true);
 		boolean controllerEnableDebugOutput = getConfig().getBoolean("controller.enableDebugOutput", true);
 
 		// Start Sequencer
 		LibSequenceStartOptions startOptions = new LibSequenceStartOptions(startupMaxCurrentSequences,
-				orchestratorEnableCommandAction, orchestratorEnableChainEvents);
+				orchestratorEnableCommandAction, orchestratorEnableChainEvents)
+				.withTimerWheel(orchestratorEnableTimerWheel)
+				.withRegionIndex(orchestratorEnableRegionIndex)
+				.withPermissionIndex(orchestratorEnablePermissionIndex)
+				.withIncludeMemo(orchestratorEnableIncludeCache)
+				.withPlaceholderCache(orchestratorPlaceholderCache)
+				.withPlaceholderSpecialization(orchestratorEnablePlaceholderSpecialization)
+				.withTickBudget(orchestratorTickBudgetMicros * 1000)
+				.withAdmission(startupAdmissionQueue)
+				.withQuotas(startupQuotas)
+				.withWorkerThreads(orchestratorWorkerThreads);
 		LibSequenceSequencer sequencer;
 		try {
 			sequencer = new LibSequenceSequencer(this, apiToken, startOptions);
@@ -110,6 +141,70 @@ public final class Main extends JavaPlugin {
 
 	}
 
+	// Returns NULL if the queue is disabled
+	protected LibSequenceRunAdmissionOptions readAdmissionOptions() {
+		ConfigurationSection section = getConfig().getConfigurationSection("startup.admissionQueue");
+		if ((section == null) || !section.getBoolean("enable", false)) {
+			return null;
+		}
+
+		int maxQueuedStarts = section.getInt("maxQueuedStarts",
+				LibSequenceRunAdmissionOptions.DEFAULT_MAX_QUEUED_STARTS);
+		long defaultTimeout = section.getLong("defaultTimeout", 0);
+		return new LibSequenceRunAdmissionOptions(maxQueuedStarts, defaultTimeout);
+	}
+
+	// Returns NULL if no quota is set
+	protected LibSequenceRunQuotaOptions readQuotaOptions() {
+		ConfigurationSection section = getConfig().getConfigurationSection("startup.quotas");
+		if (section == null) {
+			return null;
+		}
+
+		int maxPerRunner = section.getInt("maxPerStarter", 0);
+		int maxPerSection = section.getInt("maxPerSection", 0);
+		int maxPerSequence = section.getInt("maxPerSequence", 0);
+		Map<String, Integer> sectionQuotas = readQuotaMap(section.getConfigurationSection("sections"));
+		Map<String, Integer> sequenceQuotas = readQuotaMap(section.getConfigurationSection("sequences"));
+		if ((maxPerRunner <= 0) && (maxPerSection <= 0) && (maxPerSequence <= 0) && sectionQuotas.isEmpty()
+				&& sequenceQuotas.isEmpty()) {
+			return null;
+		}
+		return new LibSequenceRunQuotaOptions(maxPerRunner, maxPerSection, maxPerSequence, sectionQuotas,
+				sequenceQuotas);
+	}
+
+	protected Map<String, Integer> readQuotaMap(ConfigurationSection section) {
+		Map<String, Integer> quotas = new HashMap<>();
+		if (section != null) {
+			for (String name : section.getKeys(false)) {
+				quotas.put(name, section.getInt(name, 0));
+			}
+		}
+		return quotas;
+	}
+
+	// Returns NULL if the cache is disabled
+	protected LibSequencePlaceholderCacheOptions readPlaceholderCacheOptions() {
+		ConfigurationSection section = getConfig().getConfigurationSection("orchestrator.placeholderCache");
+		if ((section == null) || !section.getBoolean("enable", false)) {
+			return null;
+		}
+
+		long defaultTTL = section.getLong("defaultTTL", 0);
+		int maxEntries = section.getInt("maxEntries", LibSequencePlaceholderCacheOptions.DEFAULT_MAX_ENTRIES);
+		Map<String, Long> identifierTTL = new HashMap<>();
+		ConfigurationSection ttlSection = section.getConfigurationSection("identifierTTL");
+		if (ttlSection != null) {
+			for (String identifier : ttlSection.getKeys(false)) {
+				identifierTTL.put(identifier, ttlSection.getLong(identifier, 0));
+			}
+		}
+		Set<String> onlyCache = new HashSet<>(section.getStringList("onlyCache"));
+		Set<String> neverCache = new HashSet<>(section.getStringList("neverCache"));
+		return new LibSequencePlaceholderCacheOptions(defaultTTL, maxEntries, identifierTTL, onlyCache, neverCache);
+	}
+
 	@Override
 	public void onDisable() {
 		if (lsAPI != null) {
@@ -40,11 +40,15 @@ import de.polarwolf.libsequence.includes.LibSequenceIncludeRegion;
 import de.polarwolf.libsequence.includes.LibSequenceIncludeWorld;
 import de.polarwolf.libsequence.integrations.LibSequenceIntegrationManager;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderAPI;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderCacheOptions;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderInternal;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
 import de.polarwolf.libsequence.reload.LibSequenceReloadManager;
 import de.polarwolf.libsequence.reload.LibSequenceReloaderConfigFile;
+import de.polarwolf.libsequence.runnings.LibSequenceRunAdmissionOptions;
 import de.polarwolf.libsequence.runnings.LibSequenceRunManager;
+import de.polarwolf.libsequence.runnings.LibSequenceRunQuotaOptions;
 import de.polarwolf.libsequence.syntax.LibSequenceSyntaxManager;
 
 /**
@@ -64,6 +68,7 @@ public class LibSequenceOrchestrator {
 
 	protected final LibSequenceStartOptions startOptions;
 	protected final LibSequenceIntegrationManager integrationManager;
+	protected final LibSequencePlayerManager playerManager;
 	protected final LibSequencePlaceholderManager placeholderManager;
 	protected final LibSequenceConditionManager conditionManager;
 	protected final LibSequenceCheckManager checkManager;
@@ -88,6 +93,7 @@ public class LibSequenceOrchestrator {
 		maxCurrentSequences = optionsMaxCurrentSequences;
 
 		integrationManager = createIntegrationManager();
+		playerManager = createPlayerManager();
 		placeholderManager = createPlaceholderManager();
 		conditionManager = createConditionManager();
 		checkManager = createCheckManager();
@@ -115,6 +121,46 @@ public class LibSequenceOrchestrator {
 		return maxCurrentSequences;
 	}
 
+	public boolean isUseTimerWheel() {
+		return startOptions.useTimerWheel();
+	}
+
+	public boolean isUseRegionIndex() {
+		return startOptions.useRegionIndex();
+	}
+
+	public boolean isUsePermissionIndex() {
+		return startOptions.usePermissionIndex();
+	}
+
+	public boolean isUseIncludeMemo() {
+		return startOptions.useIncludeMemo();
+	}
+
+	public LibSequencePlaceholderCacheOptions getPlaceholderCacheOptions() {
+		return startOptions.placeholderCacheOptions();
+	}
+
+	public boolean isSpecializePlaceholders() {
+		return startOptions.specializePlaceholders();
+	}
+
+	public long getTickBudgetNanos() {
+		return startOptions.tickBudgetNanos();
+	}
+
+	public LibSequenceRunAdmissionOptions getAdmissionOptions() {
+		return startOptions.admissionOptions();
+	}
+
+	public LibSequenceRunQuotaOptions getQuotaOptions() {
+		return startOptions.quotaOptions();
+	}
+
+	public int getWorkerThreads() {
+		return startOptions.workerThreads();
+	}
+
 	public Plugin getPlugin() {
 		return plugin;
 	}
@@ -124,6 +170,10 @@ public class LibSequenceOrchestrator {
 		return integrationManager;
 	}
 
+	public LibSequencePlayerManager getPlayerManager() {
+		return playerManager;
+	}
+
 	public LibSequencePlaceholderManager getPlaceholderManager() {
 		return placeholderManager;
 	}
@@ -174,6 +224,10 @@ public class LibSequenceOrchestrator {
 		return new LibSequenceIntegrationManager(this);
 	}
 
+	protected LibSequencePlayerManager createPlayerManager() {
+		return new LibSequencePlayerManager(this);
+	}
+
 	protected LibSequencePlaceholderManager createPlaceholderManager() {
 		return new LibSequencePlaceholderManager(this);
 	}
@@ -224,7 +278,8 @@ public class LibSequenceOrchestrator {
 		getPlaceholderManager().registerPlaceholder(new LibSequencePlaceholderInternal());
 		if (getIntegrationManager().hasPlaceholderAPI()) {
 			getPlaceholderManager()
-					.registerPlaceholder(new LibSequencePlaceholderAPI(getIntegrationManager().getPlaceholderAPI()));
+					.registerPlaceholder(new LibSequencePlaceholderAPI(getIntegrationManager().getPlaceholderAPI(),
+							getPlaceholderManager().getPlaceholderCache()));
 		}
 	}
 
@@ -239,7 +294,8 @@ public class LibSequenceOrchestrator {
 		getCheckManager().registerCheck("check_permission", new LibSequenceCheckPermission());
 		if (getIntegrationManager().hasWorldguard()) {
 			getCheckManager().registerCheck("check_region",
-					new LibSequenceCheckRegion(getIntegrationManager().getWorldguard()));
+					new LibSequenceCheckRegion(getIntegrationManager().getWorldguard(),
+							getIntegrationManager().getWorldguardIndex()));
 		}
 		getCheckManager().registerCheck("check_condition", new LibSequenceCheckCondition());
 		getCheckManager().registerCheck("check_list", new LibSequenceCheckList());
@@ -250,10 +306,11 @@ public class LibSequenceOrchestrator {
 		getIncludeManager().registerInclude("include_console", new LibSequenceIncludeConsole());
 		getIncludeManager().registerInclude("include_operator", new LibSequenceIncludeOperator());
 		getIncludeManager().registerInclude("include_initiator", new LibSequenceIncludeInitiator());
-		getIncludeManager().registerInclude("include_permission", new LibSequenceIncludePermission());
+		getIncludeManager().registerInclude("include_permission", new LibSequenceIncludePermission(getPlayerManager()));
 		if (getIntegrationManager().hasWorldguard()) {
 			getIncludeManager().registerInclude("include_region",
-					new LibSequenceIncludeRegion(getIntegrationManager().getWorldguard()));
+					new LibSequenceIncludeRegion(getIntegrationManager().getWorldguard(),
+							getIntegrationManager().getWorldguardIndex()));
 		}
 		getIncludeManager().registerInclude("include_condition", new LibSequenceIncludeCondition());
 		getIncludeManager().registerInclude("include_list", new LibSequenceIncludeList());
@@ -289,6 +346,8 @@ public class LibSequenceOrchestrator {
 			chainManager.disable();
 			reloadManager.disable();
 			configManager.disable();
+			playerManager.disable();
+			integrationManager.disable();
 		}
 	}
 
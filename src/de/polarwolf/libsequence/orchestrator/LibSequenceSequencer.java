@@ -4,6 +4,7 @@ import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_NOT_
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.plugin.Plugin;
 
@@ -24,6 +25,8 @@ import de.polarwolf.libsequence.placeholders.LibSequencePlaceholder;
 import de.polarwolf.libsequence.reload.LibSequenceReloader;
 import de.polarwolf.libsequence.runnings.LibSequenceRunException;
 import de.polarwolf.libsequence.runnings.LibSequenceRunOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunStatus;
+import de.polarwolf.libsequence.runnings.LibSequenceRunSubmitter;
 import de.polarwolf.libsequence.runnings.LibSequenceRunningSequence;
 import de.polarwolf.libsequence.token.LibSequenceToken;
 
@@ -157,6 +160,133 @@ public class LibSequenceSequencer {
 		return orchestrator.getRunManager().execute(runnerToken, configSequence, securityToken, runOptions);
 	}
 
+	/**
+	 * Start a sequence with the given name, like executeOwnSequence. But if all
+	 * running slots are in use, the start waits in the admission queue until
+	 * another sequence has ended. Without an admission queue the start is done
+	 * (or rejected) immediately.
+	 *
+	 * @param ownerToken    Your private token
+	 * @param sequenceName  Name of the sequence to start
+	 * @param runOptions    Options you can pass to the sequence, e.g. initiator,
+	 *                      logger and authorization tokens
+	 * @param priority      Queued starts with a higher priority are admitted
+	 *                      first
+	 * @param timeoutMillis How long the start may wait for a free slot, 0 to use
+	 *                      the configured default
+	 * @return A future which completes with the instance of the started sequence,
+	 *         or completes exceptionally with a LibSequenceRunException if the
+	 *         sequence could not be started. Cancel the future to withdraw a
+	 *         queued start.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> executeOwnSequenceQueued(LibSequenceToken ownerToken,
+			String sequenceName, LibSequenceRunOptions runOptions, int priority, long timeoutMillis) {
+		try {
+			LibSequenceConfigSequence sequence = orchestrator.getConfigManager().getOwnSequence(ownerToken,
+					sequenceName);
+			LibSequenceToken securityToken = sequence.getSecurityToken(ownerToken);
+			return orchestrator.getRunManager().executeQueued(ownerToken, sequence, securityToken, runOptions,
+					priority, timeoutMillis);
+		} catch (LibSequenceConfigException e) {
+			return CompletableFuture.failedFuture(new LibSequenceRunException(null, 0, LSRERR_NOT_FOUND, null, e));
+		}
+	}
+
+	/**
+	 * Start a foreign sequence, like executeForeignSequence. But if all running
+	 * slots are in use, the start waits in the admission queue until another
+	 * sequence has ended.
+	 *
+	 * @param runnerToken   A token which you set to declare you as the owner of
+	 *                      the running sequence instance.
+	 * @param securityToken A token which you have received from the owner of the
+	 *                      sequence to proof you are allowed to start the sequence
+	 * @param runOptions    Options you can pass to the sequence
+	 * @param priority      Queued starts with a higher priority are admitted
+	 *                      first
+	 * @param timeoutMillis How long the start may wait for a free slot, 0 to use
+	 *                      the configured default
+	 * @return A future which completes with the instance of the started sequence
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> executeForeignSequenceQueued(LibSequenceToken runnerToken,
+			LibSequenceToken securityToken, LibSequenceRunOptions runOptions, int priority, long timeoutMillis) {
+		LibSequenceConfigSequence sequence = orchestrator.getConfigManager().findForeignSequence(securityToken);
+		if (sequence == null) {
+			return CompletableFuture.failedFuture(new LibSequenceRunException(null, 0, LSRERR_NOT_FOUND, null));
+		}
+		return orchestrator.getRunManager().executeQueued(runnerToken, sequence, securityToken, runOptions,
+				priority, timeoutMillis);
+	}
+
+	/**
+	 * Start the given sequence, like executeSequence. But if all running slots are
+	 * in use, the start waits in the admission queue until another sequence has
+	 * ended.
+	 *
+	 * @param runnerToken    A token which you set to declare you as the owner of
+	 *                       the running sequence instance.
+	 * @param configSequence Sequence to execute
+	 * @param securityToken  A token which you have received from the owner of the
+	 *                       sequence to proof you are allowed to start the sequence
+	 * @param runOptions     Options you can pass to the sequence
+	 * @param priority       Queued starts with a higher priority are admitted
+	 *                       first
+	 * @param timeoutMillis  How long the start may wait for a free slot, 0 to use
+	 *                       the configured default
+	 * @return A future which completes with the instance of the started sequence
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> executeSequenceQueued(LibSequenceToken runnerToken,
+			LibSequenceConfigSequence configSequence, LibSequenceToken securityToken, LibSequenceRunOptions runOptions,
+			int priority, long timeoutMillis) {
+		return orchestrator.getRunManager().executeQueued(runnerToken, configSequence, securityToken, runOptions,
+				priority, timeoutMillis);
+	}
+
+	/**
+	 * Thread-safe variant of executeOwnSequence. The start is queued and performed
+	 * on the server thread at the beginning of the next tick, so you can call this
+	 * from async tasks, e.g. database callbacks.
+	 *
+	 * @param ownerToken   Your private token
+	 * @param sequenceName Name of the sequence to start
+	 * @param runOptions   Options you can pass to the sequence
+	 * @return A future which completes with the instance of the started sequence,
+	 *         or completes exceptionally if the sequence could not be started. The
+	 *         future completes on the server thread.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submitOwnSequence(LibSequenceToken ownerToken,
+			String sequenceName, LibSequenceRunOptions runOptions) {
+		return submit(() -> executeOwnSequence(ownerToken, sequenceName, runOptions));
+	}
+
+	/**
+	 * Thread-safe variant of executeForeignSequence. The start is queued and
+	 * performed on the server thread at the beginning of the next tick.
+	 *
+	 * @param runnerToken   A token which you set to declare you as the owner of
+	 *                      the running sequence instance.
+	 * @param securityToken A token which you have received from the owner of the
+	 *                      sequence to proof you are allowed to start the sequence
+	 * @param runOptions    Options you can pass to the sequence
+	 * @return A future which completes with the instance of the started sequence
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submitForeignSequence(LibSequenceToken runnerToken,
+			LibSequenceToken securityToken, LibSequenceRunOptions runOptions) {
+		return submit(() -> executeForeignSequence(runnerToken, securityToken, runOptions));
+	}
+
+	/**
+	 * Queue any sequence start from any thread. The submitter is called on the
+	 * server thread at the beginning of the next tick. All starts submitted until
+	 * then are performed as one batch.
+	 *
+	 * @param submitter Performs the start, e.g. by calling executeSequence
+	 * @return A future which completes with the result of the submitter
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submit(LibSequenceRunSubmitter submitter) {
+		return orchestrator.getRunManager().submit(submitter);
+	}
+
 	/**
 	 * Cancel the given sequence.
 	 *
@@ -523,6 +653,16 @@ public class LibSequenceSequencer {
 		orchestrator.getChainManager().registerChain(chain);
 	}
 
+	/**
+	 * Get the current load of the RunManager, e.g. the number of running
+	 * sequences and how often the tick budget was exceeded
+	 *
+	 * @return Snapshot of the current status
+	 */
+	public LibSequenceRunStatus getRunStatus() {
+		return orchestrator.getRunManager().getRunStatus();
+	}
+
 	// IntegrationManager Interface
 	/**
 	 * Check if the PlaceholderAPI plugin was found. The Placeholder resolver can
@@ -1,9 +1,203 @@
 package de.polarwolf.libsequence.orchestrator;
 
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderCacheOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunAdmissionOptions;
+import de.polarwolf.libsequence.runnings.LibSequenceRunQuotaOptions;
+
 /**
  * Options for orchestrator/sequencer start
  *
+ * The options are immutable. Start with the classic options and switch on the
+ * optional features with the withXxx methods, each of them returns a copy, e.g.
+ * <code>new LibSequenceStartOptions(10, true, true).withTimerWheel(true)</code>
+ *
  */
-public record LibSequenceStartOptions(int maxRunningSequences, boolean includeCommand, boolean includeChain) {
+public final class LibSequenceStartOptions {
+
+	private final int maxRunningSequences;
+	private final boolean includeCommand;
+	private final boolean includeChain;
+	private final boolean useTimerWheel;
+	private final boolean useRegionIndex;
+	private final boolean usePermissionIndex;
+	private final boolean useIncludeMemo;
+	private final LibSequencePlaceholderCacheOptions placeholderCacheOptions;
+	private final boolean specializePlaceholders;
+	private final long tickBudgetNanos;
+	private final LibSequenceRunAdmissionOptions admissionOptions;
+	private final LibSequenceRunQuotaOptions quotaOptions;
+	private final int workerThreads;
+
+	/**
+	 * Options with the classic scheduler (one Bukkit task per step) and without
+	 * any of the optional features
+	 */
+	public LibSequenceStartOptions(int maxRunningSequences, boolean includeCommand, boolean includeChain) {
+		this(maxRunningSequences, includeCommand, includeChain, false, false, false, false, null, false, 0, null,
+				null, 0);
+	}
+
+	private LibSequenceStartOptions(int maxRunningSequences, boolean includeCommand, boolean includeChain, // NOSONAR
+			boolean useTimerWheel, boolean useRegionIndex, boolean usePermissionIndex, boolean useIncludeMemo,
+			LibSequencePlaceholderCacheOptions placeholderCacheOptions, boolean specializePlaceholders,
+			long tickBudgetNanos, LibSequenceRunAdmissionOptions admissionOptions,
+			LibSequenceRunQuotaOptions quotaOptions, int workerThreads) {
+		this.maxRunningSequences = maxRunningSequences;
+		this.includeCommand = includeCommand;
+		this.includeChain = includeChain;
+		this.useTimerWheel = useTimerWheel;
+		this.useRegionIndex = useRegionIndex;
+		this.usePermissionIndex = usePermissionIndex;
+		this.useIncludeMemo = useIncludeMemo;
+		this.placeholderCacheOptions = placeholderCacheOptions;
+		this.specializePlaceholders = specializePlaceholders;
+		this.tickBudgetNanos = tickBudgetNanos;
+		this.admissionOptions = admissionOptions;
+		this.quotaOptions = quotaOptions;
+		this.workerThreads = workerThreads;
+	}
+
+	/**
+	 * Use the timer wheel instead of one Bukkit task per step
+	 */
+	public LibSequenceStartOptions withTimerWheel(boolean useTimerWheel) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use the WorldGuard region index
+	 */
+	public LibSequenceStartOptions withRegionIndex(boolean useRegionIndex) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use the permission index
+	 */
+	public LibSequenceStartOptions withPermissionIndex(boolean usePermissionIndex) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use the include memo
+	 */
+	public LibSequenceStartOptions withIncludeMemo(boolean useIncludeMemo) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use the PlaceholderAPI value cache, NULL disables the cache
+	 */
+	public LibSequenceStartOptions withPlaceholderCache(LibSequencePlaceholderCacheOptions placeholderCacheOptions) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Fold the placeholders of the runOptions into the step templates
+	 */
+	public LibSequenceStartOptions withPlaceholderSpecialization(boolean specializePlaceholders) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Limit the time spent on steps per tick, 0 means no limit
+	 */
+	public LibSequenceStartOptions withTickBudget(long tickBudgetNanos) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use the admission queue, NULL disables the queue
+	 */
+	public LibSequenceStartOptions withAdmission(LibSequenceRunAdmissionOptions admissionOptions) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use quotas, NULL disables the quotas
+	 */
+	public LibSequenceStartOptions withQuotas(LibSequenceRunQuotaOptions quotaOptions) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	/**
+	 * Use a worker pool for the steps which can run off-thread, 0 disables the
+	 * pool
+	 */
+	public LibSequenceStartOptions withWorkerThreads(int workerThreads) {
+		return new LibSequenceStartOptions(maxRunningSequences, includeCommand, includeChain, useTimerWheel,
+				useRegionIndex, usePermissionIndex, useIncludeMemo, placeholderCacheOptions, specializePlaceholders,
+				tickBudgetNanos, admissionOptions, quotaOptions, workerThreads);
+	}
+
+	public int maxRunningSequences() {
+		return maxRunningSequences;
+	}
+
+	public boolean includeCommand() {
+		return includeCommand;
+	}
+
+	public boolean includeChain() {
+		return includeChain;
+	}
+
+	public boolean useTimerWheel() {
+		return useTimerWheel;
+	}
+
+	public boolean useRegionIndex() {
+		return useRegionIndex;
+	}
+
+	public boolean usePermissionIndex() {
+		return usePermissionIndex;
+	}
+
+	public boolean useIncludeMemo() {
+		return useIncludeMemo;
+	}
+
+	public LibSequencePlaceholderCacheOptions placeholderCacheOptions() {
+		return placeholderCacheOptions;
+	}
+
+	public boolean specializePlaceholders() {
+		return specializePlaceholders;
+	}
+
+	public long tickBudgetNanos() {
+		return tickBudgetNanos;
+	}
+
+	public LibSequenceRunAdmissionOptions admissionOptions() {
+		return admissionOptions;
+	}
+
+	public LibSequenceRunQuotaOptions quotaOptions() {
+		return quotaOptions;
+	}
+
+	public int workerThreads() {
+		return workerThreads;
+	}
 
 }
@@ -17,4 +17,27 @@ public interface LibSequencePlaceholder {
 
 	public String resolvePlaceholders(String messageText, LibSequenceRunOptions runOptions) throws LibSequenceException;
 
+	/**
+	 * Check if the resolver can resolve single placeholders of a precompiled
+	 * template. The resolvers at the start of the chain which can do this work
+	 * on the precompiled segments, without building and parsing the text for
+	 * each resolver.
+	 */
+	public default boolean canResolveTemplatePlaceholder() {
+		return false;
+	}
+
+	/**
+	 * Resolve one placeholder segment of a precompiled template
+	 *
+	 * @param template   The template
+	 * @param index      Index of the placeholder segment
+	 * @param runOptions The runOptions of the sequence
+	 * @return The value, or NULL if the resolver does not know the placeholder
+	 */
+	public default String resolveTemplatePlaceholder(LibSequencePlaceholderTemplate template, int index,
+			LibSequenceRunOptions runOptions) throws LibSequenceException {
+		return null;
+	}
+
 }
@@ -1,5 +1,6 @@
 package de.polarwolf.libsequence.placeholders;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -8,28 +9,94 @@ import de.polarwolf.libsequence.integrations.LibSequenceIntegrationPlaceholderAP
 import de.polarwolf.libsequence.runnings.LibSequenceRunOptions;
 
 /**
- * Gateway to PlaceholderAPI (PAPI)
+ * Gateway to PlaceholderAPI (PAPI). Placeholders of a precompiled template are
+ * requested directly from the expansion, other texts are given to PAPI. If a
+ * placeholder cache is given, the values of template placeholders are cached.
  *
+ * The expansions are not thread-safe. Outside of the server thread (e.g. in a
+ * step on a worker thread) only cached values are returned, all other
+ * placeholders stay unresolved.
  */
 public class LibSequencePlaceholderAPI implements LibSequencePlaceholder {
 
 	public static final String PLACEHOLDERAPI_NAME = "PlaceholderAPI";
 	protected final LibSequenceIntegrationPlaceholderAPI placeholderAPI;
+	protected final LibSequencePlaceholderCache placeholderCache;
 
 	public LibSequencePlaceholderAPI(LibSequenceIntegrationPlaceholderAPI placeholderAPI) {
+		this(placeholderAPI, null);
+	}
+
+	public LibSequencePlaceholderAPI(LibSequenceIntegrationPlaceholderAPI placeholderAPI,
+			LibSequencePlaceholderCache placeholderCache) {
 		this.placeholderAPI = placeholderAPI;
+		this.placeholderCache = placeholderCache;
+	}
+
+	/**
+	 * Get the value cache, or NULL if values are not cached
+	 */
+	public LibSequencePlaceholderCache getPlaceholderCache() {
+		return placeholderCache;
+	}
+
+	protected Player findPlayer(LibSequenceRunOptions runOptions) {
+		CommandSender initiator = runOptions.getInitiator();
+		if (initiator instanceof Player player) {
+			return player;
+		}
+		return null;
+	}
+
+	@Override
+	public boolean canResolveTemplatePlaceholder() {
+		return true;
+	}
+
+	@Override
+	public String resolveTemplatePlaceholder(LibSequencePlaceholderTemplate template, int index,
+			LibSequenceRunOptions runOptions) throws LibSequenceException {
+		String identifier = template.getIdentifier(index);
+		if (identifier == null) {
+			return null;
+		}
+		Player player = findPlayer(runOptions);
+		String placeholderName = template.getSegment(index);
+		boolean isCacheable = (placeholderCache != null) && placeholderCache.isCacheable(identifier);
+		if (isCacheable) {
+			String cachedValue = placeholderCache.find(player, placeholderName);
+			if (cachedValue != null) {
+				return cachedValue;
+			}
+		}
+		if (!Bukkit.isPrimaryThread()) {
+			return null;
+		}
+
+		try {
+			String placeholderValue = placeholderAPI.requestPlaceholder(player, placeholderName, identifier,
+					template.getParams(index));
+			if (isCacheable) {
+				placeholderCache.put(player, placeholderName, identifier, placeholderValue);
+			}
+			return placeholderValue;
+		} catch (LibSequenceException e) {
+			throw new LibSequencePlaceholderException(PLACEHOLDERAPI_NAME, e.getTitle(),
+					(player == null) ? null : player.getName(), placeholderName, e);
+		} catch (Exception e) {
+			throw new LibSequencePlaceholderException(PLACEHOLDERAPI_NAME, LibSequenceException.JAVA_EXCEPTION,
+					(player == null) ? null : player.getName(), placeholderName, e);
+		}
 	}
 
 	@Override
 	public String resolvePlaceholders(String messageText, LibSequenceRunOptions runOptions)
 			throws LibSequenceException {
-		CommandSender initiator = runOptions.getInitiator();
-		Player player = null;
-		String playerName = null;
-		if (initiator instanceof Player) { // NOSONAR
-			player = (Player) initiator;
-			playerName = player.getName();
+		if (!Bukkit.isPrimaryThread()) {
+			return messageText;
 		}
+		Player player = findPlayer(runOptions);
+		String playerName = (player == null) ? null : player.getName();
 
 		try {
 			return placeholderAPI.setPlaceholders(player, messageText);
@@ -0,0 +1,140 @@
+package de.polarwolf.libsequence.placeholders;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Cache for the values of PlaceholderAPI placeholders, per player and
+ * placeholder. Some expansions are expensive (e.g. economy or database
+ * backed), and the same placeholder is often requested many times within a
+ * short time, e.g. by <I>include_condition</I> in a fast sequence.
+ *
+ * Each identifier can have its own TTL, and identifiers can be excluded from
+ * caching. The cache has a maximum size and drops the least recently used
+ * value if it is full.
+ *
+ * @see de.polarwolf.libsequence.placeholders.LibSequencePlaceholderCacheOptions
+ *      PlaceholderCacheOptions
+ */
+public class LibSequencePlaceholderCache {
+
+	protected final LibSequencePlaceholderCacheOptions options;
+	protected final Map<CacheKey, CachedValue> values;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	public LibSequencePlaceholderCache(LibSequencePlaceholderCacheOptions options) {
+		this.options = options;
+		this.values = new LinkedHashMap<>(64, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedValue> eldest) {
+				if (size() > options.maxEntries()) {
+					evictions = evictions + 1;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public LibSequencePlaceholderCacheOptions getOptions() {
+		return options;
+	}
+
+	protected static CacheKey buildKey(Player player, String placeholderName) {
+		return new CacheKey((player == null) ? null : player.getUniqueId(), placeholderName);
+	}
+
+	/**
+	 * Check if values of this identifier are cached at all
+	 *
+	 * @param identifier The identifier in lower case
+	 */
+	public boolean isCacheable(String identifier) {
+		return options.findTtlMillis(identifier) > 0;
+	}
+
+	/**
+	 * Get a cached value
+	 *
+	 * @param player          The player the value was resolved for, can be NULL
+	 * @param placeholderName The full placeholder name without the % signs
+	 * @return The value, or NULL if there is no valid value in the cache
+	 */
+	public synchronized String find(Player player, String placeholderName) {
+		CacheKey key = buildKey(player, placeholderName);
+		CachedValue cachedValue = values.get(key);
+		if (cachedValue == null) {
+			misses = misses + 1;
+			return null;
+		}
+		if (cachedValue.validUntil() <= System.currentTimeMillis()) {
+			values.remove(key);
+			misses = misses + 1;
+			return null;
+		}
+		hits = hits + 1;
+		return cachedValue.value();
+	}
+
+	/**
+	 * Store a value
+	 *
+	 * @param player          The player the value was resolved for, can be NULL
+	 * @param placeholderName The full placeholder name without the % signs
+	 * @param identifier      The identifier in lower case
+	 * @param value           The resolved value
+	 */
+	public synchronized void put(Player player, String placeholderName, String identifier, String value) {
+		long ttl = options.findTtlMillis(identifier);
+		if ((ttl <= 0) || (value == null)) {
+			return;
+		}
+		values.put(buildKey(player, placeholderName), new CachedValue(value, System.currentTimeMillis() + ttl));
+	}
+
+	public synchronized void clear() {
+		values.clear();
+	}
+
+	public synchronized int getSize() {
+		return values.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "size=" + values.size() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions;
+	}
+
+	protected record CacheKey(UUID playerId, String placeholderName) {
+	}
+
+	protected record CachedValue(String value, long validUntil) {
+	}
+
+}
@@ -0,0 +1,85 @@
+package de.polarwolf.libsequence.placeholders;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options for the PlaceholderAPI value cache. All identifiers are compared in
+ * lower case.
+ *
+ * @param defaultTtlMillis    How long a value is kept, 0 means that only the
+ *                            identifiers with their own TTL are cached
+ * @param maxEntries          Maximum number of cached values. If the cache is
+ *                            full, the least recently used value is dropped.
+ * @param identifierTtlMillis TTL for specific identifiers, overrides the
+ *                            default TTL
+ * @param allowedIdentifiers  If not empty, only these identifiers are cached
+ * @param deniedIdentifiers   These identifiers are never cached
+ *
+ * @see de.polarwolf.libsequence.placeholders.LibSequencePlaceholderCache
+ *      PlaceholderCache
+ */
+public record LibSequencePlaceholderCacheOptions(long defaultTtlMillis, int maxEntries,
+		Map<String, Long> identifierTtlMillis, Set<String> allowedIdentifiers, Set<String> deniedIdentifiers) {
+
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	public LibSequencePlaceholderCacheOptions {
+		if (maxEntries < 1) {
+			maxEntries = DEFAULT_MAX_ENTRIES;
+		}
+		identifierTtlMillis = Collections.unmodifiableMap(toLowerCase(identifierTtlMillis));
+		allowedIdentifiers = Collections.unmodifiableSet(toLowerCase(allowedIdentifiers));
+		deniedIdentifiers = Collections.unmodifiableSet(toLowerCase(deniedIdentifiers));
+	}
+
+	/**
+	 * Options with the same TTL for all identifiers
+	 */
+	public LibSequencePlaceholderCacheOptions(long defaultTtlMillis, int maxEntries) {
+		this(defaultTtlMillis, maxEntries, null, null, null);
+	}
+
+	private static Map<String, Long> toLowerCase(Map<String, Long> map) {
+		Map<String, Long> result = new HashMap<>();
+		if (map != null) {
+			for (Map.Entry<String, Long> entry : map.entrySet()) {
+				result.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	private static Set<String> toLowerCase(Set<String> set) {
+		Set<String> result = new HashSet<>();
+		if (set != null) {
+			for (String identifier : set) {
+				result.add(identifier.toLowerCase(Locale.ROOT));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the TTL for an identifier
+	 *
+	 * @param identifier The identifier in lower case
+	 * @return The TTL in milliseconds, or 0 if the identifier must not be cached
+	 */
+	public long findTtlMillis(String identifier) {
+		if (deniedIdentifiers.contains(identifier)
+				|| (!allowedIdentifiers.isEmpty() && !allowedIdentifiers.contains(identifier))) {
+			return 0;
+		}
+		Long ttl = identifierTtlMillis.get(identifier);
+		if (ttl != null) {
+			return Math.max(ttl.longValue(), 0);
+		}
+		return Math.max(defaultTtlMillis, 0);
+	}
+
+}
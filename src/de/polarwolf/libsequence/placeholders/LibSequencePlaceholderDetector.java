@@ -0,0 +1,23 @@
+package de.polarwolf.libsequence.placeholders;
+
+/**
+ * Interface for detecting unresolved placeholders. After all placeholder
+ * resolvers have done their work, the detector looks at the result. If it
+ * still seems to contain a placeholder, a warning is sent to the logger.
+ *
+ * @see de.polarwolf.libsequence.logger.LibSequenceLogger#onPlaceholderWarn
+ *      LibSequenceLogger.onPlaceholderWarn
+ */
+public interface LibSequencePlaceholderDetector {
+
+	/**
+	 * Test if the text seems to contain a placeholder. This is called after every
+	 * placeholder resolution, so it should be fast and should not allocate
+	 * objects.
+	 *
+	 * @param messageText The text to test, never NULL
+	 * @return TRUE if the text seems to contain a placeholder, otherwise FALSE
+	 */
+	public boolean containsPlaceholder(String messageText);
+
+}
@@ -0,0 +1,31 @@
+package de.polarwolf.libsequence.placeholders;
+
+import static de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER;
+
+/**
+ * Default detector: A text contains a placeholder if one of its words contains
+ * at least two % signs. The text is scanned character by character, so no
+ * object is allocated.
+ *
+ */
+public class LibSequencePlaceholderDetectorDefault implements LibSequencePlaceholderDetector {
+
+	@Override
+	public boolean containsPlaceholder(String messageText) {
+		int markersInWord = 0;
+		int length = messageText.length();
+		for (int i = 0; i < length; i++) {
+			char c = messageText.charAt(i);
+			if (c == PLACEHOLDER_MARKER) {
+				markersInWord = markersInWord + 1;
+				if (markersInWord >= 2) {
+					return true;
+				}
+			} else if ((c == ' ') || (c == '\n') || (c == '\r')) {
+				markersInWord = 0;
+			}
+		}
+		return false;
+	}
+
+}
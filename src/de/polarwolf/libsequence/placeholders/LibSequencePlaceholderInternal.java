@@ -1,21 +1,125 @@
 package de.polarwolf.libsequence.placeholders;
 
+import static de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER;
+
 import de.polarwolf.libsequence.runnings.LibSequenceRunOptions;
 
 /**
- * Resolve placeholders set in runOptions
+ * Resolve placeholders set in runOptions. The text is scanned once and each
+ * %NAME% is replaced by the value from the runOptions. The values are inserted
+ * as they are, so they can safely contain any character.
  *
  */
 public class LibSequencePlaceholderInternal implements LibSequencePlaceholder {
 
+	// The resolver is stateless, so one builder per thread is enough
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(StringBuilder::new);
+
+	protected static StringBuilder acquireBuilder() {
+		StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		return builder;
+	}
+
+	// Returns FALSE if the placeholder is unknown. In this case only the opening
+	// % sign and the name are appended, and the caller must decide how to
+	// continue with the closing % sign.
+	protected boolean appendPlaceholder(StringBuilder builder, String placeholderName,
+			LibSequenceRunOptions runOptions) {
+		String placeholderValue = runOptions.findPlaceholder(placeholderName);
+		if (placeholderValue != null) {
+			builder.append(placeholderValue);
+			return true;
+		}
+		builder.append(PLACEHOLDER_MARKER).append(placeholderName);
+		return false;
+	}
+
 	@Override
 	public String resolvePlaceholders(String messageText, LibSequenceRunOptions runOptions) {
-		for (String placeholderName : runOptions.listPlaceholders()) {
+		int i = messageText.indexOf(PLACEHOLDER_MARKER);
+		if (i < 0) {
+			return messageText;
+		}
+
+		StringBuilder builder = acquireBuilder();
+		int literalStart = 0;
+		while (i >= 0) {
+			int end = LibSequencePlaceholderTemplate.findPlaceholderEnd(messageText, i);
+			if (end < 0) {
+				i = messageText.indexOf(PLACEHOLDER_MARKER, i + 1);
+				continue;
+			}
+			builder.append(messageText, literalStart, i);
+			if (appendPlaceholder(builder, messageText.substring(i + 1, end), runOptions)) {
+				literalStart = end + 1;
+				i = messageText.indexOf(PLACEHOLDER_MARKER, literalStart);
+			} else {
+				// The closing % sign can start the next placeholder
+				literalStart = end;
+				i = end;
+			}
+		}
+		builder.append(messageText, literalStart, messageText.length());
+		return builder.toString();
+	}
+
+	@Override
+	public boolean canResolveTemplatePlaceholder() {
+		return true;
+	}
+
+	@Override
+	public String resolveTemplatePlaceholder(LibSequencePlaceholderTemplate template, int index,
+			LibSequenceRunOptions runOptions) {
+		return runOptions.findPlaceholder(template.getSegment(index));
+	}
+
+	/**
+	 * Replace the placeholders set in runOptions by their values, and keep all
+	 * other placeholders. A value containing a % sign is not replaced, because
+	 * the following resolvers must see it as part of the text.
+	 */
+	public LibSequencePlaceholderTemplate specializeTemplate(LibSequencePlaceholderTemplate template,
+			LibSequenceRunOptions runOptions) {
+		if (!template.hasMarkers()) {
+			return template;
+		}
+		return template.specialize(placeholderName -> {
 			String placeholderValue = runOptions.findPlaceholder(placeholderName);
-			placeholderName = "%" + placeholderName + "%";
-			messageText = messageText.replaceAll(placeholderName, placeholderValue);
+			if ((placeholderValue == null) || (placeholderValue.indexOf(PLACEHOLDER_MARKER) >= 0)) {
+				return null;
+			}
+			return placeholderValue;
+		});
+	}
+
+	/**
+	 * Same as resolvePlaceholders, but the text is already split into segments
+	 */
+	public String resolveTemplate(LibSequencePlaceholderTemplate template, LibSequenceRunOptions runOptions) {
+		if (!template.hasMarkers()) {
+			return template.getText();
+		}
+
+		StringBuilder builder = acquireBuilder();
+		LibSequencePlaceholderTemplate currentTemplate = template;
+		int i = 0;
+		while (i < currentTemplate.getSegmentCount()) {
+			if (!currentTemplate.isPlaceholder(i)) {
+				builder.append(currentTemplate.getSegment(i));
+			} else if (!appendPlaceholder(builder, currentTemplate.getSegment(i), runOptions)) {
+				LibSequencePlaceholderTemplate rescanTemplate = currentTemplate.getRescanTemplate(i);
+				if (rescanTemplate != null) {
+					currentTemplate = rescanTemplate;
+					i = 0;
+					continue;
+				}
+				builder.append(PLACEHOLDER_MARKER);
+			}
+			i++;
 		}
-		return messageText;
+		return builder.toString();
 	}
 
 }
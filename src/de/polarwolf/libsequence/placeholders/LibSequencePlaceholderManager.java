@@ -20,22 +20,177 @@ import de.polarwolf.libsequence.runnings.LibSequenceRunOptions;
 public class LibSequencePlaceholderManager {
 
 	protected List<LibSequencePlaceholder> placeholders = new ArrayList<>();
+	protected LibSequencePlaceholderDetector placeholderDetector = new LibSequencePlaceholderDetectorDefault();
+
+	// Number of resolvers at the start of the chain which can resolve single
+	// template placeholders. Only these work on the precompiled segments.
+	protected int templateChainLength = 0;
+
+	// Cache for PlaceholderAPI values, NULL if disabled
+	protected final LibSequencePlaceholderCache placeholderCache;
 
 	public LibSequencePlaceholderManager(LibSequenceOrchestrator orchestrator) {
-		// Prevent from starting the Manager without having an orchestrator
+		LibSequencePlaceholderCacheOptions cacheOptions = orchestrator.getPlaceholderCacheOptions();
+		if (cacheOptions != null) {
+			placeholderCache = createPlaceholderCache(cacheOptions);
+		} else {
+			placeholderCache = null;
+		}
+	}
+
+	protected LibSequencePlaceholderCache createPlaceholderCache(LibSequencePlaceholderCacheOptions cacheOptions) {
+		return new LibSequencePlaceholderCache(cacheOptions);
+	}
+
+	/**
+	 * Get the cache for PlaceholderAPI values, or NULL if the cache is disabled
+	 */
+	public LibSequencePlaceholderCache getPlaceholderCache() {
+		return placeholderCache;
 	}
 
 	public void registerPlaceholder(LibSequencePlaceholder placeholder) {
 		placeholders.add(placeholder);
+		if ((templateChainLength == placeholders.size() - 1) && placeholder.canResolveTemplatePlaceholder()) {
+			templateChainLength = placeholders.size();
+		}
+	}
+
+	public LibSequencePlaceholderDetector getPlaceholderDetector() {
+		return placeholderDetector;
 	}
 
+	// Replace the detector for unresolved placeholders,
+	// e.g. if your custom resolver uses a different placeholder syntax
+	public void setPlaceholderDetector(LibSequencePlaceholderDetector placeholderDetector) {
+		if (placeholderDetector != null) {
+			this.placeholderDetector = placeholderDetector;
+		}
+	}
+
+	// Texts without any % sign cannot contain a placeholder,
+	// so they don't need to pass the resolver chain
 	public String resolvePlaceholder(String messageText, LibSequenceRunOptions runOptions)
 			throws LibSequencePlaceholderException {
 		if (messageText == null) {
 			return null;
 		}
+		if (messageText.indexOf(LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER) < 0) {
+			return messageText;
+		}
+		return resolvePlaceholderChain(messageText, runOptions, 0);
+	}
+
+	// The resolvers at the start of the chain which can resolve template
+	// placeholders (by default the internal resolver and PAPI) work on the
+	// precompiled segments. Resolvers registered later get the text as usual.
+	public String resolvePlaceholder(LibSequencePlaceholderTemplate template, LibSequenceRunOptions runOptions)
+			throws LibSequencePlaceholderException {
+		if (template == null) {
+			return null;
+		}
+		if (!template.hasMarkers()) {
+			return template.getText();
+		}
+		if (templateChainLength == 0) {
+			return resolvePlaceholderChain(template.getText(), runOptions, 0);
+		}
+		return resolveTemplateChain(template, runOptions);
+	}
+
+	// Each placeholder is given to the template resolvers in chain order, and
+	// the first value wins. If a value contains a % sign, only this value is
+	// given to the rest of the chain. The remaining text resolvers get the
+	// literal text and the unresolved placeholders, but never a resolved value.
+	// After an unresolved placeholder the rest of the text is taken from its
+	// rescan template, so the closing % sign can open the next placeholder.
+	protected String resolveTemplateChain(LibSequencePlaceholderTemplate template, LibSequenceRunOptions runOptions)
+			throws LibSequencePlaceholderException {
+		StringBuilder builder = new StringBuilder(template.getText().length() + 16);
+		StringBuilder fragment = new StringBuilder();
+		LibSequencePlaceholderTemplate currentTemplate = template;
+		int i = 0;
+		while (i < currentTemplate.getSegmentCount()) {
+			String segment = currentTemplate.getSegment(i);
+			if (!currentTemplate.isPlaceholder(i)) {
+				fragment.append(segment);
+				i++;
+				continue;
+			}
+			String placeholderValue = null;
+			for (int j = 0; (j < templateChainLength) && (placeholderValue == null); j++) {
+				placeholderValue = resolveTemplatePlaceholder(placeholders.get(j), currentTemplate, i, runOptions);
+				if ((placeholderValue != null)
+						&& (placeholderValue.indexOf(LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER) >= 0)) {
+					placeholderValue = resolvePlaceholderChain(placeholderValue, runOptions, j + 1);
+				}
+			}
+			if (placeholderValue != null) {
+				flushFragment(builder, fragment, runOptions);
+				builder.append(placeholderValue);
+				i++;
+				continue;
+			}
+			fragment.append(LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER).append(segment);
+			LibSequencePlaceholderTemplate rescanTemplate = currentTemplate.getRescanTemplate(i);
+			if (rescanTemplate != null) {
+				currentTemplate = rescanTemplate;
+				i = 0;
+			} else {
+				fragment.append(LibSequencePlaceholderTemplate.PLACEHOLDER_MARKER);
+				i++;
+			}
+		}
+		flushFragment(builder, fragment, runOptions);
+		return builder.toString();
+	}
+
+	protected void flushFragment(StringBuilder builder, StringBuilder fragment, LibSequenceRunOptions runOptions)
+			throws LibSequencePlaceholderException {
+		if (fragment.length() == 0) {
+			return;
+		}
+		if (templateChainLength < placeholders.size()) {
+			builder.append(resolvePlaceholderChain(fragment.toString(), runOptions, templateChainLength));
+		} else {
+			builder.append(fragment);
+		}
+		fragment.setLength(0);
+	}
 
-		for (LibSequencePlaceholder placeholder : placeholders)
+	protected String resolveTemplatePlaceholder(LibSequencePlaceholder placeholder,
+			LibSequencePlaceholderTemplate template, int index, LibSequenceRunOptions runOptions)
+			throws LibSequencePlaceholderException {
+		try {
+			return placeholder.resolveTemplatePlaceholder(template, index, runOptions);
+		} catch (LibSequencePlaceholderException e) {
+			throw e;
+		} catch (LibSequenceException e) {
+			throw new LibSequencePlaceholderException(null, e.getTitle(), null, template.getText(), e);
+		} catch (Exception e) {
+			throw new LibSequencePlaceholderException(null, LibSequenceException.JAVA_EXCEPTION, null,
+					template.getText(), e);
+		}
+	}
+
+	/**
+	 * Fold the placeholders of the runOptions into a copy of the template. This
+	 * is only possible if the internal resolver is the first one in the chain,
+	 * otherwise the template is returned unchanged.
+	 */
+	public LibSequencePlaceholderTemplate specializeTemplate(LibSequencePlaceholderTemplate template,
+			LibSequenceRunOptions runOptions) {
+		if ((template == null) || !template.hasMarkers() || placeholders.isEmpty()
+				|| !(placeholders.get(0) instanceof LibSequencePlaceholderInternal internal)) {
+			return template;
+		}
+		return internal.specializeTemplate(template, runOptions);
+	}
+
+	protected String resolvePlaceholderChain(String messageText, LibSequenceRunOptions runOptions, int firstIndex)
+			throws LibSequencePlaceholderException {
+		for (int i = firstIndex; i < placeholders.size(); i++) {
+			LibSequencePlaceholder placeholder = placeholders.get(i);
 			try {
 				messageText = placeholder.resolvePlaceholders(messageText, runOptions);
 			} catch (LibSequencePlaceholderException e) {
@@ -46,6 +201,7 @@ public class LibSequencePlaceholderManager {
 				throw new LibSequencePlaceholderException(null, LibSequenceException.JAVA_EXCEPTION, null, messageText,
 						e);
 			}
+		}
 
 		return messageText;
 	}
@@ -54,13 +210,7 @@ public class LibSequencePlaceholderManager {
 		if (messageText == null) {
 			return false;
 		}
-		String[] messageWords = messageText.split(" ");
-		for (String myWord : messageWords) {
-			if (myWord.matches(".*%.*%.*")) {
-				return true;
-			}
-		}
-		return false;
+		return placeholderDetector.containsPlaceholder(messageText);
 	}
 
 }
@@ -0,0 +1,290 @@
+package de.polarwolf.libsequence.placeholders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A text which is split into literal and placeholder segments. The split is
+ * done once (e.g. during step compile), so the resolver only needs to walk
+ * through the segments instead of searching the text for every placeholder.
+ *
+ * A placeholder is written as %NAME%, where the name must not be empty and
+ * must not contain whitespace. A % sign which does not start such a placeholder
+ * is treated as a normal character.
+ *
+ * If a placeholder stays unresolved, its closing % sign can still be the
+ * opening % sign of a following placeholder, e.g. "%off%PLAYER%". For this
+ * case the resolvers continue with the rescan template of the segment.
+ *
+ * Placeholders in PlaceholderAPI syntax (%identifier_params%) are split into
+ * identifier and params during compile, so resolvers can dispatch them without
+ * parsing the text again.
+ *
+ * @see <A href=
+ *      "https://github.com/Kirastur/LibSequence/wiki/Placeholders">Placeholders</A>
+ *      (WIKI)
+ */
+public final class LibSequencePlaceholderTemplate {
+
+	public static final char PLACEHOLDER_MARKER = '%';
+
+	private static final String[] EMPTY_SEGMENTS = new String[0];
+
+	// Marks a placeholder segment which was checked and has no rescan template
+	private static final LibSequencePlaceholderTemplate NO_RESCAN = new LibSequencePlaceholderTemplate("",
+			new ArrayList<>(), new ArrayList<>(), index -> null);
+
+	private final String text;
+	private final String[] segments;
+	private final boolean[] placeholderSegments;
+	private final String[] identifiers;
+	private final String[] params;
+	private final boolean bMarkers;
+
+	// Rescan templates are only built when a resolver asks for them, so a
+	// template never builds more than one rescan template per segment
+	private final IntFunction<LibSequencePlaceholderTemplate> rescanFactory;
+	private final LibSequencePlaceholderTemplate[] rescanTemplates;
+
+	private LibSequencePlaceholderTemplate(String text, List<String> segments, List<Boolean> placeholderSegments,
+			IntFunction<LibSequencePlaceholderTemplate> rescanFactory) {
+		this.text = text;
+		this.rescanFactory = rescanFactory;
+		this.rescanTemplates = new LibSequencePlaceholderTemplate[segments.size()];
+		this.segments = segments.toArray(EMPTY_SEGMENTS);
+		this.placeholderSegments = new boolean[placeholderSegments.size()];
+		for (int i = 0; i < this.placeholderSegments.length; i++) {
+			this.placeholderSegments[i] = placeholderSegments.get(i);
+		}
+		this.bMarkers = text.indexOf(PLACEHOLDER_MARKER) >= 0;
+		this.identifiers = new String[this.segments.length];
+		this.params = new String[this.segments.length];
+		for (int i = 0; i < this.segments.length; i++) {
+			if (this.placeholderSegments[i]) {
+				int separator = this.segments[i].indexOf('_');
+				if (separator > 0) {
+					this.identifiers[i] = this.segments[i].substring(0, separator).toLowerCase(Locale.ROOT);
+					this.params[i] = this.segments[i].substring(separator + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Split the given text into segments
+	 *
+	 * @param text The text to compile, can be NULL
+	 * @return The template, or NULL if the text was NULL
+	 */
+	public static LibSequencePlaceholderTemplate compile(String text) {
+		if (text == null) {
+			return null;
+		}
+
+		List<String> segments = new ArrayList<>();
+		List<Boolean> placeholderSegments = new ArrayList<>();
+		List<Integer> closePositions = new ArrayList<>();
+		int literalStart = 0;
+		int i = text.indexOf(PLACEHOLDER_MARKER);
+		while (i >= 0) {
+			int end = findPlaceholderEnd(text, i);
+			if (end < 0) {
+				i = text.indexOf(PLACEHOLDER_MARKER, i + 1);
+				continue;
+			}
+			if (i > literalStart) {
+				segments.add(text.substring(literalStart, i));
+				placeholderSegments.add(Boolean.FALSE);
+				closePositions.add(-1);
+			}
+			segments.add(text.substring(i + 1, end));
+			placeholderSegments.add(Boolean.TRUE);
+			closePositions.add(end);
+			literalStart = end + 1;
+			i = text.indexOf(PLACEHOLDER_MARKER, literalStart);
+		}
+		if (literalStart < text.length()) {
+			segments.add(text.substring(literalStart));
+			placeholderSegments.add(Boolean.FALSE);
+			closePositions.add(-1);
+		}
+
+		int[] closePositionArray = new int[closePositions.size()];
+		for (int j = 0; j < closePositionArray.length; j++) {
+			closePositionArray[j] = closePositions.get(j);
+		}
+		return new LibSequencePlaceholderTemplate(text, segments, placeholderSegments, index -> {
+			int closePosition = closePositionArray[index];
+			if (findPlaceholderEnd(text, closePosition) < 0) {
+				return null;
+			}
+			return compile(text.substring(closePosition));
+		});
+	}
+
+	/**
+	 * Build a copy of the template where some placeholders are replaced by fixed
+	 * values. The segments are not parsed again, so a value can never create a
+	 * new placeholder together with the text around it. The rescan templates of
+	 * the kept placeholders are specialized the same way when they are needed.
+	 *
+	 * @param values Gets the placeholder name and returns the value, or NULL to
+	 *               keep the placeholder
+	 * @return The new template, or this template if no placeholder was replaced
+	 */
+	public LibSequencePlaceholderTemplate specialize(UnaryOperator<String> values) {
+		List<String> newSegments = new ArrayList<>();
+		List<Boolean> newPlaceholderSegments = new ArrayList<>();
+		List<Integer> sourceIndexes = new ArrayList<>();
+		StringBuilder newText = new StringBuilder(text.length());
+		StringBuilder literal = new StringBuilder();
+		boolean isReplaced = false;
+
+		for (int i = 0; i < segments.length; i++) {
+			String value = placeholderSegments[i] ? values.apply(segments[i]) : segments[i];
+			if (value != null) {
+				isReplaced = isReplaced || placeholderSegments[i];
+				literal.append(value);
+				newText.append(value);
+				continue;
+			}
+			if (literal.length() > 0) {
+				newSegments.add(literal.toString());
+				newPlaceholderSegments.add(Boolean.FALSE);
+				sourceIndexes.add(-1);
+				literal.setLength(0);
+			}
+			newSegments.add(segments[i]);
+			newPlaceholderSegments.add(Boolean.TRUE);
+			sourceIndexes.add(i);
+			newText.append(PLACEHOLDER_MARKER).append(segments[i]).append(PLACEHOLDER_MARKER);
+		}
+		if (!isReplaced) {
+			return this;
+		}
+		if (literal.length() > 0) {
+			newSegments.add(literal.toString());
+			newPlaceholderSegments.add(Boolean.FALSE);
+			sourceIndexes.add(-1);
+		}
+		return new LibSequencePlaceholderTemplate(newText.toString(), newSegments, newPlaceholderSegments, index -> {
+			LibSequencePlaceholderTemplate sourceRescanTemplate = getRescanTemplate(sourceIndexes.get(index));
+			return (sourceRescanTemplate == null) ? null : sourceRescanTemplate.specialize(values);
+		});
+	}
+
+	/**
+	 * Find the closing marker of a placeholder
+	 *
+	 * @param text  Text to search in
+	 * @param start Position of the opening % sign
+	 * @return Position of the closing % sign, or -1 if the opening % sign does not
+	 *         start a placeholder
+	 */
+	public static int findPlaceholderEnd(String text, int start) {
+		int length = text.length();
+		for (int i = start + 1; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == PLACEHOLDER_MARKER) {
+				return (i > start + 1) ? i : -1;
+			}
+			if (Character.isWhitespace(c)) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the original text
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Check if the text contains any % sign. If not, no placeholder resolver
+	 * needs to look at it.
+	 */
+	public boolean hasMarkers() {
+		return bMarkers;
+	}
+
+	/**
+	 * Get the number of segments
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Get a segment. For a placeholder segment this is the placeholder name
+	 * without the enclosing % signs.
+	 */
+	public String getSegment(int index) {
+		return segments[index];
+	}
+
+	/**
+	 * Check if the segment is a placeholder or a literal
+	 */
+	public boolean isPlaceholder(int index) {
+		return placeholderSegments[index];
+	}
+
+	/**
+	 * Get the identifier of a placeholder segment in PlaceholderAPI syntax. This
+	 * is the part before the first "_" in lower case.
+	 *
+	 * @return The identifier, or NULL if the segment is a literal or the name
+	 *         does not contain a "_"
+	 */
+	public String getIdentifier(int index) {
+		return identifiers[index];
+	}
+
+	/**
+	 * Get the params of a placeholder segment in PlaceholderAPI syntax. This is
+	 * the part after the first "_".
+	 *
+	 * @return The params, or NULL if the segment has no identifier
+	 */
+	public String getParams(int index) {
+		return params[index];
+	}
+
+	/**
+	 * Get the template which must be used instead of the rest of this template
+	 * if the placeholder segment stays unresolved. It starts at the closing %
+	 * sign of the placeholder, so this % sign is scanned again as an opening
+	 * one. The resolver should output the % sign and the name of the unresolved
+	 * placeholder, and continue with the rescan template.
+	 *
+	 * @return The rescan template, or NULL if the segment is a literal or the
+	 *         closing % sign does not start a placeholder
+	 */
+	public LibSequencePlaceholderTemplate getRescanTemplate(int index) {
+		if (!placeholderSegments[index]) {
+			return null;
+		}
+		LibSequencePlaceholderTemplate rescanTemplate = rescanTemplates[index];
+		if (rescanTemplate == null) {
+			rescanTemplate = rescanFactory.apply(index);
+			if (rescanTemplate == null) {
+				rescanTemplate = NO_RESCAN;
+			}
+			// Templates are immutable, so a concurrent duplicate build is harmless
+			rescanTemplates[index] = rescanTemplate;
+		}
+		return (rescanTemplate == NO_RESCAN) ? null : rescanTemplate;
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+}
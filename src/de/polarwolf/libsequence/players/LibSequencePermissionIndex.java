@@ -0,0 +1,153 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Remembers which online players have a given permission, so a permission
+ * include or a permission broadcast is a bitset lookup instead of asking each
+ * player.
+ *
+ * A permission node is tracked from the first time it is queried. The holders
+ * are updated when a player joins, quits or changes the world, and all nodes
+ * are marked outdated when an op or permission command is seen. If LuckPerms
+ * is installed, a player is also updated each time LuckPerms calculates the
+ * permissions of this player again.
+ *
+ * Permission attachments of other plugins and op changes done by code don't
+ * fire any event, so a node is also computed again if it is older than
+ * MAX_AGE_MILLIS. With LuckPerms most changes are reported by events, so the
+ * longer MAX_AGE_MILLIS_WITH_EVENTS is used as a backstop. You can call
+ * invalidate if your plugin changes permissions and needs the change to be
+ * seen at once.
+ *
+ * The index is optional, it's only created if enabled in the start options.
+ *
+ * @see de.polarwolf.libsequence.players.LibSequencePlayerManager
+ *      LibSequencePlayerManager
+ */
+public class LibSequencePermissionIndex {
+
+	public static final long MAX_AGE_MILLIS = 1000;
+	public static final long MAX_AGE_MILLIS_WITH_EVENTS = 30000;
+
+	protected final LibSequencePlayerManager playerManager;
+	protected final Map<String, PermissionNode> permissionNodes = new HashMap<>();
+
+	// TRUE if permission changes are reported by events, so nodes expire later
+	private boolean bPermissionEvents = false;
+
+	public LibSequencePermissionIndex(LibSequencePlayerManager playerManager) {
+		this.playerManager = playerManager;
+	}
+
+	public boolean hasPermissionEvents() {
+		return bPermissionEvents;
+	}
+
+	/**
+	 * Declare that permission changes are reported by events (e.g. from
+	 * LuckPerms), so the nodes are computed again after
+	 * MAX_AGE_MILLIS_WITH_EVENTS instead of MAX_AGE_MILLIS
+	 */
+	public void setPermissionEvents(boolean bPermissionEvents) {
+		this.bPermissionEvents = bPermissionEvents;
+	}
+
+	public long getMaxAgeMillis() {
+		return bPermissionEvents ? MAX_AGE_MILLIS_WITH_EVENTS : MAX_AGE_MILLIS;
+	}
+
+	public int getNumberOfTrackedPermissions() {
+		return permissionNodes.size();
+	}
+
+	protected void computeNode(String permission, PermissionNode permissionNode) {
+		permissionNode.holders.clear();
+		int slotLimit = playerManager.getSlotLimit();
+		for (int slot = 0; slot < slotLimit; slot++) {
+			Player player = playerManager.getPlayer(slot);
+			if ((player != null) && player.hasPermission(permission)) {
+				permissionNode.holders.set(slot);
+			}
+		}
+		permissionNode.computedAt = System.currentTimeMillis();
+	}
+
+	// Read-only for the target sets
+	BitSet getHolders(String permission) {
+		PermissionNode permissionNode = permissionNodes.get(permission);
+		if (permissionNode == null) {
+			permissionNode = new PermissionNode();
+			permissionNodes.put(permission, permissionNode);
+			computeNode(permission, permissionNode);
+		} else if ((permissionNode.computedAt == 0)
+				|| (System.currentTimeMillis() - permissionNode.computedAt > getMaxAgeMillis())) {
+			computeNode(permission, permissionNode);
+		}
+		return permissionNode.holders;
+	}
+
+	public boolean hasPermission(Player player, String permission) {
+		int slot = playerManager.getSlot(player);
+		if (slot < 0) {
+			return player.hasPermission(permission);
+		}
+		return getHolders(permission).get(slot);
+	}
+
+	public int getNumberOfHolders(String permission) {
+		return getHolders(permission).cardinality();
+	}
+
+	/**
+	 * Update all tracked nodes for one player, e.g. after join or world change
+	 */
+	public void updatePlayer(int slot) {
+		Player player = playerManager.getPlayer(slot);
+		for (Map.Entry<String, PermissionNode> entry : permissionNodes.entrySet()) {
+			BitSet holders = entry.getValue().holders;
+			if ((player != null) && player.hasPermission(entry.getKey())) {
+				holders.set(slot);
+			} else {
+				holders.clear(slot);
+			}
+		}
+	}
+
+	/**
+	 * Remove a player from all tracked nodes
+	 */
+	public void removePlayer(int slot) {
+		for (PermissionNode permissionNode : permissionNodes.values()) {
+			permissionNode.holders.clear(slot);
+		}
+	}
+
+	/**
+	 * Mark all nodes as outdated, so they are computed again on the next query
+	 */
+	public void invalidate() {
+		for (PermissionNode permissionNode : permissionNodes.values()) {
+			permissionNode.computedAt = 0;
+		}
+	}
+
+	/**
+	 * Stop tracking all nodes, e.g. after reload
+	 */
+	public void clear() {
+		permissionNodes.clear();
+	}
+
+	protected static final class PermissionNode {
+
+		private final BitSet holders = new BitSet();
+		private long computedAt = 0;
+
+	}
+
+}
@@ -0,0 +1,64 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+
+/**
+ * Keeps the permission index up to date if LuckPerms is installed. LuckPerms
+ * fires an event each time the permissions of a user are calculated again, so
+ * only this player is updated in the index.
+ *
+ * This class is only loaded if LuckPerms is present.
+ *
+ * @see de.polarwolf.libsequence.players.LibSequencePermissionIndex
+ *      LibSequencePermissionIndex
+ */
+public class LibSequencePermissionLuckPerms {
+
+	public static final String LUCKPERMS_NAME = "LuckPerms";
+
+	protected final Plugin plugin;
+	protected final LibSequencePlayerManager playerManager;
+
+	private EventSubscription<UserDataRecalculateEvent> subscription = null;
+
+	public LibSequencePermissionLuckPerms(Plugin plugin, LibSequencePlayerManager playerManager) {
+		this.plugin = plugin;
+		this.playerManager = playerManager;
+	}
+
+	public void registerListener() {
+		subscription = LuckPermsProvider.get().getEventBus().subscribe(plugin, UserDataRecalculateEvent.class,
+				this::onUserDataRecalculate);
+	}
+
+	public void unregisterListener() {
+		if (subscription != null) {
+			subscription.close();
+			subscription = null;
+		}
+	}
+
+	// LuckPerms fires the event on its own threads, but the index is only
+	// touched from the server thread
+	protected void onUserDataRecalculate(UserDataRecalculateEvent event) {
+		UUID uuid = event.getUser().getUniqueId();
+		if (Bukkit.isPrimaryThread()) {
+			playerManager.updatePermissions(uuid);
+			return;
+		}
+		try {
+			Bukkit.getScheduler().runTask(plugin, () -> playerManager.updatePermissions(uuid));
+		} catch (IllegalPluginAccessException e) {
+			// Plugin is disabled, nothing to update
+		}
+	}
+
+}
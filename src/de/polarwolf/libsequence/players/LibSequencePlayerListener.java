@@ -0,0 +1,121 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.bukkit.plugin.Plugin;
+
+import de.polarwolf.libsequence.reload.LibSequenceReloadedEvent;
+
+/**
+ * Helper for listening on player join, quit and world change. For the
+ * permission index it also watches for commands which can change permissions.
+ *
+ */
+public class LibSequencePlayerListener implements Listener {
+
+	// Commands which are known to change the op status or the permissions
+	public static final Set<String> PERMISSION_COMMANDS = Set.of("op", "deop", "lp", "luckperms", "perm", "perms",
+			"permissions", "pex", "manuadd", "manudel");
+
+	protected final Plugin plugin;
+	protected final LibSequencePlayerManager playerManager;
+
+	public LibSequencePlayerListener(Plugin plugin, LibSequencePlayerManager playerManager) {
+		this.plugin = plugin;
+		this.playerManager = playerManager;
+	}
+
+	public void registerListener() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+	}
+
+	public void unregisterListener() {
+		HandlerList.unregisterAll(this);
+	}
+
+	// The slot must exist before other plugins see the player,
+	// because they can start a sequence in their join handler
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		try {
+			playerManager.addPlayer(event.getPlayer());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+		try {
+			playerManager.changeWorld(event.getPlayer());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		try {
+			playerManager.removePlayer(event.getPlayer());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	protected boolean isPermissionCommand(String commandLine) {
+		if (commandLine == null) {
+			return false;
+		}
+		String label = commandLine.trim();
+		if (label.startsWith("/")) {
+			label = label.substring(1);
+		}
+		int end = label.indexOf(' ');
+		if (end >= 0) {
+			label = label.substring(0, end);
+		}
+		int namespaceEnd = label.indexOf(':');
+		if (namespaceEnd >= 0) {
+			label = label.substring(namespaceEnd + 1);
+		}
+		return PERMISSION_COMMANDS.contains(label.toLowerCase());
+	}
+
+	// The command itself is executed after this event, so the index is only
+	// marked as outdated here and computed again on the next query
+	protected void handleCommand(String commandLine) {
+		LibSequencePermissionIndex permissionIndex = playerManager.getPermissionIndex();
+		if ((permissionIndex != null) && isPermissionCommand(commandLine)) {
+			permissionIndex.invalidate();
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerCommandPreprocess(PlayerCommandPreprocessEvent event) {
+		handleCommand(event.getMessage());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onServerCommand(ServerCommandEvent event) {
+		handleCommand(event.getCommand());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onLibSequenceReloadedEvent(LibSequenceReloadedEvent event) {
+		LibSequencePermissionIndex permissionIndex = playerManager.getPermissionIndex();
+		if (permissionIndex != null) {
+			permissionIndex.clear();
+		}
+	}
+
+}
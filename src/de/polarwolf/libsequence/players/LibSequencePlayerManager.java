@@ -0,0 +1,373 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
+
+/**
+ * Gives each online player a dense integer slot, so sets of players can be
+ * stored as bitsets. The slot is assigned on join and released on quit. A
+ * released slot is handed out again to the next joining player, so the slots
+ * stay close to the number of online players.
+ *
+ * A slot is only valid as long as the player is online. Therefore a target set
+ * must be used in the same tick it was built.
+ *
+ * Additionally the slots are grouped by the world the player is in, so all
+ * players of a world can be taken as a whole.
+ *
+ * The PlayerManager also hands out the per-tick snapshot of the player state.
+ *
+ * @see de.polarwolf.libsequence.players.LibSequenceTargetSet
+ *      LibSequenceTargetSet
+ */
+public class LibSequencePlayerManager {
+
+	public static final int INITIAL_CAPACITY = 64;
+
+	protected final Plugin plugin;
+	protected final LibSequencePlayerListener playerListener;
+	protected final LibSequencePermissionIndex permissionIndex;
+	protected final LibSequencePermissionLuckPerms permissionLuckPerms;
+	protected final Map<UUID, Integer> slotsByPlayer = new HashMap<>();
+	protected final BitSet occupiedSlots = new BitSet();
+	protected final Map<String, BitSet> slotsByWorld = new HashMap<>();
+
+	private Player[] slotPlayers = new Player[INITIAL_CAPACITY];
+	private String[] slotWorlds = new String[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount = 0;
+	private int slotLimit = 0;
+	private boolean bDisabled = false;
+
+	private long modificationCount = 0;
+	// Volatile, so steps on worker threads see the snapshot of the current tick
+	private volatile LibSequencePlayerSnapshot snapshot = null;
+	private boolean bSnapshotExpiryScheduled = false;
+
+	public LibSequencePlayerManager(LibSequenceOrchestrator orchestrator) {
+		this(orchestrator.getPlugin(), orchestrator.isUsePermissionIndex());
+	}
+
+	protected LibSequencePlayerManager(Plugin plugin, boolean usePermissionIndex) {
+		this.plugin = plugin;
+		if (usePermissionIndex) {
+			permissionIndex = createPermissionIndex();
+			permissionLuckPerms = registerPermissionLuckPerms(plugin);
+		} else {
+			permissionIndex = null;
+			permissionLuckPerms = null;
+		}
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			addPlayer(player);
+		}
+		playerListener = createPlayerListener(plugin);
+		playerListener.registerListener();
+	}
+
+	protected LibSequencePlayerListener createPlayerListener(Plugin plugin) {
+		return new LibSequencePlayerListener(plugin, this);
+	}
+
+	protected LibSequencePermissionIndex createPermissionIndex() {
+		return new LibSequencePermissionIndex(this);
+	}
+
+	protected LibSequencePermissionLuckPerms createPermissionLuckPerms(Plugin plugin) {
+		return new LibSequencePermissionLuckPerms(plugin, this);
+	}
+
+	// LuckPerms is optional, so its classes must only be touched if it's there
+	protected LibSequencePermissionLuckPerms registerPermissionLuckPerms(Plugin plugin) {
+		if (Bukkit.getPluginManager().getPlugin(LibSequencePermissionLuckPerms.LUCKPERMS_NAME) == null) {
+			return null;
+		}
+		try {
+			LibSequencePermissionLuckPerms newPermissionLuckPerms = createPermissionLuckPerms(plugin);
+			newPermissionLuckPerms.registerListener();
+			permissionIndex.setPermissionEvents(true);
+			return newPermissionLuckPerms;
+		} catch (Exception | LinkageError e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Get the permission index, or NULL if it's not enabled
+	 */
+	public LibSequencePermissionIndex getPermissionIndex() {
+		return permissionIndex;
+	}
+
+	/**
+	 * Get the upper bound of all slots in use. Each occupied slot is lower than
+	 * this value, but there can be free slots below it.
+	 */
+	public int getSlotLimit() {
+		return slotLimit;
+	}
+
+	public int getNumberOfPlayers() {
+		return slotsByPlayer.size();
+	}
+
+	/**
+	 * Get the player in the given slot, or NULL if the slot is free
+	 */
+	public Player getPlayer(int slot) {
+		if ((slot < 0) || (slot >= slotLimit)) {
+			return null;
+		}
+		return slotPlayers[slot];
+	}
+
+	/**
+	 * Get the name of the world the player in the given slot is in, or NULL if
+	 * the slot is free
+	 */
+	public String getWorldName(int slot) {
+		if ((slot < 0) || (slot >= slotLimit)) {
+			return null;
+		}
+		return slotWorlds[slot];
+	}
+
+	public int getNumberOfPlayersInWorld(String worldName) {
+		BitSet worldSlots = slotsByWorld.get(worldName);
+		if (worldSlots == null) {
+			return 0;
+		}
+		return worldSlots.cardinality();
+	}
+
+	// Read-only for the target sets
+	BitSet getOccupiedSlots() {
+		return occupiedSlots;
+	}
+
+	// Read-only for the target sets, NULL if nobody is in this world
+	BitSet getWorldSlots(String worldName) {
+		return slotsByWorld.get(worldName);
+	}
+
+	/**
+	 * Get the slot of the given player, or -1 if the player is not online
+	 */
+	public int getSlot(Player player) {
+		return getSlot(player.getUniqueId());
+	}
+
+	/**
+	 * Get the slot of the player with the given UUID, or -1 if the player is not
+	 * online
+	 */
+	public int getSlot(UUID uuid) {
+		Integer slot = slotsByPlayer.get(uuid);
+		if (slot == null) {
+			return -1;
+		}
+		return slot;
+	}
+
+	public int addPlayer(Player player) {
+		invalidateSnapshot();
+		Integer oldSlot = slotsByPlayer.get(player.getUniqueId());
+		if (oldSlot != null) {
+			slotPlayers[oldSlot] = player;
+			setWorld(oldSlot, player.getWorld().getName());
+			if (permissionIndex != null) {
+				permissionIndex.updatePlayer(oldSlot);
+			}
+			return oldSlot;
+		}
+
+		int slot;
+		if (freeCount > 0) {
+			freeCount = freeCount - 1;
+			slot = freeSlots[freeCount];
+		} else {
+			slot = slotLimit;
+			slotLimit = slotLimit + 1;
+			if (slot >= slotPlayers.length) {
+				slotPlayers = Arrays.copyOf(slotPlayers, slotPlayers.length * 2);
+				slotWorlds = Arrays.copyOf(slotWorlds, slotWorlds.length * 2);
+			}
+		}
+		slotPlayers[slot] = player;
+		slotsByPlayer.put(player.getUniqueId(), slot);
+		occupiedSlots.set(slot);
+		setWorld(slot, player.getWorld().getName());
+		if (permissionIndex != null) {
+			permissionIndex.updatePlayer(slot);
+		}
+		return slot;
+	}
+
+	protected void setWorld(int slot, String worldName) {
+		String oldWorldName = slotWorlds[slot];
+		if ((oldWorldName != null) && oldWorldName.equals(worldName)) {
+			return;
+		}
+		clearWorld(slot);
+		if (worldName != null) {
+			slotsByWorld.computeIfAbsent(worldName, k -> new BitSet()).set(slot);
+		}
+		slotWorlds[slot] = worldName;
+	}
+
+	protected void clearWorld(int slot) {
+		String oldWorldName = slotWorlds[slot];
+		if (oldWorldName == null) {
+			return;
+		}
+		BitSet worldSlots = slotsByWorld.get(oldWorldName);
+		if (worldSlots != null) {
+			worldSlots.clear(slot);
+			if (worldSlots.isEmpty()) {
+				slotsByWorld.remove(oldWorldName);
+			}
+		}
+		slotWorlds[slot] = null;
+	}
+
+	/**
+	 * Update the world of a player, called after the player has changed the
+	 * world
+	 */
+	public void changeWorld(Player player) {
+		invalidateSnapshot();
+		int slot = getSlot(player);
+		if (slot >= 0) {
+			setWorld(slot, player.getWorld().getName());
+
+			// Permissions can be defined per world
+			if (permissionIndex != null) {
+				permissionIndex.updatePlayer(slot);
+			}
+		}
+	}
+
+	/**
+	 * Update the permission index for one player, called after the permissions
+	 * of the player have changed
+	 */
+	public void updatePermissions(UUID uuid) {
+		int slot = getSlot(uuid);
+		if ((permissionIndex != null) && (slot >= 0)) {
+			permissionIndex.updatePlayer(slot);
+		}
+	}
+
+	public void removePlayer(Player player) {
+		invalidateSnapshot();
+		Integer slot = slotsByPlayer.remove(player.getUniqueId());
+		if (slot == null) {
+			return;
+		}
+		slotPlayers[slot] = null;
+		occupiedSlots.clear(slot);
+		clearWorld(slot);
+		if (permissionIndex != null) {
+			permissionIndex.removePlayer(slot);
+		}
+		if (freeCount >= freeSlots.length) {
+			freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+		}
+		freeSlots[freeCount] = slot;
+		freeCount = freeCount + 1;
+	}
+
+	/**
+	 * Get the snapshot of the current tick. It is created on the first call in a
+	 * tick, and dropped again when a player joins, quits or changes the world.
+	 * Only the server thread creates a snapshot, other threads get the current
+	 * one.
+	 *
+	 * @return The snapshot, or NULL if the PlayerManager is disabled or if no
+	 *         snapshot exists and this is not the server thread
+	 */
+	public LibSequencePlayerSnapshot getSnapshot() {
+		if (bDisabled) {
+			return null;
+		}
+		LibSequencePlayerSnapshot currentSnapshot = snapshot;
+		if ((currentSnapshot == null) && Bukkit.isPrimaryThread()) {
+			currentSnapshot = new LibSequencePlayerSnapshot(this);
+			snapshot = currentSnapshot;
+			scheduleSnapshotExpiry();
+		}
+		return currentSnapshot;
+	}
+
+	protected void scheduleSnapshotExpiry() {
+		if (bSnapshotExpiryScheduled || bDisabled) {
+			return;
+		}
+		bSnapshotExpiryScheduled = true;
+		Bukkit.getScheduler().runTask(plugin, () -> {
+			bSnapshotExpiryScheduled = false;
+			snapshot = null;
+		});
+	}
+
+	protected void invalidateSnapshot() {
+		modificationCount = modificationCount + 1;
+		snapshot = null;
+	}
+
+	/**
+	 * Get a counter which changes each time a player joins, quits or changes the
+	 * world. If the counter is the same, the slots of an earlier target set are
+	 * still valid.
+	 */
+	public long getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Get the state of the player from the snapshot of the current tick. If
+	 * there is no snapshot or the player is not part of it, the state is read
+	 * from the player directly. Off the server thread the live player is never
+	 * read, so NULL is returned if the snapshot doesn't contain the player.
+	 */
+	public LibSequencePlayerState getPlayerState(Player player) {
+		LibSequencePlayerSnapshot currentSnapshot = getSnapshot();
+		LibSequencePlayerState state = (currentSnapshot == null) ? null : currentSnapshot.getState(player);
+		if ((state == null) && Bukkit.isPrimaryThread()) {
+			state = LibSequencePlayerState.of(player, getSlot(player));
+		}
+		return state;
+	}
+
+	/**
+	 * Create an empty target set based on this slot index
+	 */
+	public LibSequenceTargetSet createTargetSet() {
+		return new LibSequenceTargetSet(this);
+	}
+
+	public boolean isDisabled() {
+		return bDisabled;
+	}
+
+	public void disable() {
+		if (!bDisabled) {
+			bDisabled = true;
+			playerListener.unregisterListener();
+			if (permissionLuckPerms != null) {
+				permissionLuckPerms.unregisterListener();
+			}
+			snapshot = null;
+		}
+	}
+
+}
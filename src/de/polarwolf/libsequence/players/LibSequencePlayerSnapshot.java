@@ -0,0 +1,107 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * State of the online players at one point in time. The snapshot is created by
+ * the PlayerManager at most once per tick and dropped at the start of the next
+ * tick. The state of a player is read on the first request in this tick, so
+ * only the players which are really tested are copied. This way all sequences
+ * which are woken up in the same tick share the same player facts.
+ *
+ * The player states are immutable and published through a concurrent map, so
+ * the snapshot can also be read off-thread (e.g. by a step on a worker
+ * thread). Only the server thread reads new states from the live players,
+ * other threads get the states which are already part of the snapshot.
+ *
+ * @see de.polarwolf.libsequence.players.LibSequencePlayerManager#getSnapshot()
+ *      PlayerManager.getSnapshot
+ */
+public final class LibSequencePlayerSnapshot {
+
+	private final LibSequencePlayerManager playerManager;
+	private final long createdAt;
+	private final Map<UUID, LibSequencePlayerState> statesByPlayer = new ConcurrentHashMap<>();
+
+	LibSequencePlayerSnapshot(LibSequencePlayerManager playerManager) {
+		this.playerManager = playerManager;
+		this.createdAt = System.currentTimeMillis();
+	}
+
+	public long getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * Get the states of all players, ordered by slot. On the server thread this
+	 * reads the state of every player which was not requested before, on other
+	 * threads only the states read so far are returned.
+	 */
+	public List<LibSequencePlayerState> getStates() {
+		if (!Bukkit.isPrimaryThread()) {
+			List<LibSequencePlayerState> states = new ArrayList<>(statesByPlayer.values());
+			states.sort(Comparator.comparingInt(LibSequencePlayerState::slot));
+			return Collections.unmodifiableList(states);
+		}
+		List<LibSequencePlayerState> states = new ArrayList<>(playerManager.getNumberOfPlayers());
+		int slotLimit = playerManager.getSlotLimit();
+		for (int slot = 0; slot < slotLimit; slot++) {
+			Player player = playerManager.getPlayer(slot);
+			if (player != null) {
+				states.add(getState(player));
+			}
+		}
+		return Collections.unmodifiableList(states);
+	}
+
+	/**
+	 * Get the number of player states read so far
+	 */
+	public int size() {
+		return statesByPlayer.size();
+	}
+
+	/**
+	 * Get the state of a player, or NULL if the player is not online. On other
+	 * threads than the server thread, NULL is also returned if the state was
+	 * not read before.
+	 */
+	public LibSequencePlayerState getState(UUID uuid) {
+		LibSequencePlayerState state = statesByPlayer.get(uuid);
+		if ((state != null) || !Bukkit.isPrimaryThread()) {
+			return state;
+		}
+		Player player = playerManager.getPlayer(playerManager.getSlot(uuid));
+		if (player == null) {
+			return null;
+		}
+		return getState(player);
+	}
+
+	/**
+	 * Get the state of a player, or NULL if the player has no slot in the
+	 * PlayerManager. On other threads than the server thread, NULL is also
+	 * returned if the state was not read before.
+	 */
+	public LibSequencePlayerState getState(Player player) {
+		LibSequencePlayerState state = statesByPlayer.get(player.getUniqueId());
+		if ((state != null) || !Bukkit.isPrimaryThread()) {
+			return state;
+		}
+		int slot = playerManager.getSlot(player);
+		if (slot < 0) {
+			return null;
+		}
+		return statesByPlayer.computeIfAbsent(player.getUniqueId(), uuid -> LibSequencePlayerState.of(player, slot));
+	}
+
+}
@@ -0,0 +1,54 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import de.polarwolf.libsequence.checks.LibSequenceCheckOperator;
+
+/**
+ * Immutable copy of the facts about a player which are used by the includes
+ * and checks. The state can be read on any thread, but the world is a live
+ * Bukkit object, so only its reference may be used off-thread.
+ *
+ * @param uuid      Unique ID of the player
+ * @param name      Name of the player
+ * @param slot      Slot in the PlayerManager, or -1 if the player has none
+ * @param world     World the player is in
+ * @param worldName Name of the world
+ * @param blockX    Block position of the player
+ * @param blockY    Block position of the player
+ * @param blockZ    Block position of the player
+ * @param locale    Client locale, can be NULL
+ * @param op        TRUE if the player is a classic server operator
+ * @param autoOp    TRUE if the player has the LuckPerms auto-op permission
+ */
+public record LibSequencePlayerState(UUID uuid, String name, int slot, World world, String worldName, int blockX,
+		int blockY, int blockZ, String locale, boolean op, boolean autoOp) {
+
+	/**
+	 * Read the current state from the live player object
+	 */
+	public static LibSequencePlayerState of(Player player, int slot) {
+		Location location = player.getLocation();
+		World world = location.getWorld();
+		return new LibSequencePlayerState(player.getUniqueId(), player.getName(), slot, world,
+				(world == null) ? null : world.getName(), location.getBlockX(), location.getBlockY(),
+				location.getBlockZ(), player.getLocale(), player.isOp(), player.hasPermission(LibSequenceCheckOperator.AUTOOP));
+	}
+
+	/**
+	 * Check if the player is an operator, either by classic OP or by LuckPerms
+	 * auto-op
+	 */
+	public boolean isOperator() {
+		return op || autoOp;
+	}
+
+	public boolean isInWorld(String worldNameToTest) {
+		return (worldName != null) && worldName.equals(worldNameToTest);
+	}
+
+}
@@ -0,0 +1,18 @@
+package de.polarwolf.libsequence.players;
+
+import org.bukkit.command.CommandSender;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+/**
+ * Callback to walk through a target set
+ *
+ * @see de.polarwolf.libsequence.players.LibSequenceTargetSet#forEachTarget
+ *      LibSequenceTargetSet.forEachTarget
+ */
+@FunctionalInterface
+public interface LibSequenceTargetConsumer<T extends CommandSender> {
+
+	public void accept(T target) throws LibSequenceException;
+
+}
@@ -0,0 +1,295 @@
+package de.polarwolf.libsequence.players;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+/**
+ * The targets of a step, e.g. the result of the includes. Online players are
+ * stored as bits using the slots of the PlayerManager, so include and exclude
+ * can be combined by bitwise operations. All other senders (e.g. the console
+ * or a command block) are kept in a separate, usually empty, set.
+ *
+ * The slots are only valid in the current tick, so don't keep a target set
+ * for later use.
+ *
+ * @see de.polarwolf.libsequence.players.LibSequencePlayerManager
+ *      LibSequencePlayerManager
+ */
+public class LibSequenceTargetSet {
+
+	protected final LibSequencePlayerManager playerManager;
+	protected final BitSet playerSlots = new BitSet();
+
+	// Only created if needed
+	protected Set<CommandSender> otherSenders = null;
+
+	public LibSequenceTargetSet(LibSequencePlayerManager playerManager) {
+		this.playerManager = playerManager;
+	}
+
+	public LibSequencePlayerManager getPlayerManager() {
+		return playerManager;
+	}
+
+	protected Set<CommandSender> getOtherSenders() {
+		if (otherSenders == null) {
+			return Collections.emptySet();
+		}
+		return otherSenders;
+	}
+
+	/**
+	 * Create an independent copy of this target set
+	 */
+	public LibSequenceTargetSet copy() {
+		LibSequenceTargetSet targetSet = new LibSequenceTargetSet(playerManager);
+		targetSet.addAll(this);
+		return targetSet;
+	}
+
+	public void add(CommandSender sender) {
+		if (sender instanceof Player player) {
+			int slot = playerManager.getSlot(player);
+			if (slot >= 0) {
+				playerSlots.set(slot);
+				return;
+			}
+		}
+		if (otherSenders == null) {
+			otherSenders = new HashSet<>();
+		}
+		otherSenders.add(sender);
+	}
+
+	public void addAll(Collection<? extends CommandSender> senders) {
+		for (CommandSender sender : senders) {
+			add(sender);
+		}
+	}
+
+	public void addAll(LibSequenceTargetSet targetSet) {
+		playerSlots.or(targetSet.playerSlots);
+		if (targetSet.otherSenders != null) {
+			if (otherSenders == null) {
+				otherSenders = new HashSet<>();
+			}
+			otherSenders.addAll(targetSet.otherSenders);
+		}
+	}
+
+	public void removeAll(LibSequenceTargetSet targetSet) {
+		playerSlots.andNot(targetSet.playerSlots);
+		if ((otherSenders != null) && (targetSet.otherSenders != null)) {
+			otherSenders.removeAll(targetSet.otherSenders);
+		}
+	}
+
+	/**
+	 * Add all players which are currently online
+	 */
+	public void addAllPlayers() {
+		playerSlots.or(playerManager.getOccupiedSlots());
+	}
+
+	/**
+	 * Add all players which are currently in the given world
+	 */
+	public void addWorld(String worldName) {
+		BitSet worldSlots = playerManager.getWorldSlots(worldName);
+		if (worldSlots != null) {
+			playerSlots.or(worldSlots);
+		}
+	}
+
+	/**
+	 * Add all players which are currently not in the given world
+	 */
+	public void addAllPlayersOutsideWorld(String worldName) {
+		BitSet worldSlots = playerManager.getWorldSlots(worldName);
+		if (worldSlots == null) {
+			addAllPlayers();
+			return;
+		}
+		BitSet outsideSlots = (BitSet) playerManager.getOccupiedSlots().clone();
+		outsideSlots.andNot(worldSlots);
+		playerSlots.or(outsideSlots);
+	}
+
+	/**
+	 * Add all players having the given permission, or not having it if inverse
+	 * is set. The permission index is used if enabled.
+	 */
+	public void addPermission(String permission, boolean inverseSearch) {
+		LibSequencePermissionIndex permissionIndex = playerManager.getPermissionIndex();
+		if (permissionIndex == null) {
+			int slotLimit = playerManager.getSlotLimit();
+			for (int slot = 0; slot < slotLimit; slot++) {
+				Player player = playerManager.getPlayer(slot);
+				// Now it gets tricky: ^ is the XOR operator, this is not math square
+				if ((player != null) && (player.hasPermission(permission) ^ inverseSearch)) {
+					playerSlots.set(slot);
+				}
+			}
+			return;
+		}
+
+		BitSet holders = permissionIndex.getHolders(permission);
+		if (inverseSearch) {
+			BitSet otherSlots = (BitSet) playerManager.getOccupiedSlots().clone();
+			otherSlots.andNot(holders);
+			playerSlots.or(otherSlots);
+		} else {
+			playerSlots.or(holders);
+		}
+	}
+
+	public void addSlot(int slot) {
+		playerSlots.set(slot);
+	}
+
+	public void removeSlot(int slot) {
+		playerSlots.clear(slot);
+	}
+
+	public boolean containsSlot(int slot) {
+		return playerSlots.get(slot);
+	}
+
+	public boolean contains(CommandSender sender) {
+		if (sender instanceof Player player) {
+			int slot = playerManager.getSlot(player);
+			if (slot >= 0) {
+				return playerSlots.get(slot);
+			}
+		}
+		return (otherSenders != null) && otherSenders.contains(sender);
+	}
+
+	public int size() {
+		return playerSlots.cardinality() + getOtherSenders().size();
+	}
+
+	public boolean isEmpty() {
+		return playerSlots.isEmpty() && getOtherSenders().isEmpty();
+	}
+
+	/**
+	 * Walk through the players only, other senders are skipped
+	 */
+	public void forEachPlayer(LibSequenceTargetConsumer<Player> consumer) throws LibSequenceException {
+		for (int slot = playerSlots.nextSetBit(0); slot >= 0; slot = playerSlots.nextSetBit(slot + 1)) {
+			Player player = playerManager.getPlayer(slot);
+			if (player != null) {
+				consumer.accept(player);
+			}
+		}
+	}
+
+	/**
+	 * Walk through all targets, first the players, then the other senders
+	 */
+	public void forEachTarget(LibSequenceTargetConsumer<CommandSender> consumer) throws LibSequenceException {
+		for (int slot = playerSlots.nextSetBit(0); slot >= 0; slot = playerSlots.nextSetBit(slot + 1)) {
+			Player player = playerManager.getPlayer(slot);
+			if (player != null) {
+				consumer.accept(player);
+			}
+		}
+		for (CommandSender sender : getOtherSenders()) {
+			consumer.accept(sender);
+		}
+	}
+
+	/**
+	 * Get a read-only view on the targets. The view does not copy the targets,
+	 * it walks through the bitset on demand, so it is only valid in the current
+	 * tick. Copy it before handing it out to an action.
+	 */
+	public Set<CommandSender> asSet() {
+		return new TargetSetView(this);
+	}
+
+	protected static class TargetSetView extends AbstractSet<CommandSender> {
+
+		private final LibSequenceTargetSet targetSet;
+
+		protected TargetSetView(LibSequenceTargetSet targetSet) {
+			this.targetSet = targetSet;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof CommandSender sender) && targetSet.contains(sender);
+		}
+
+		@Override
+		public int size() {
+			return targetSet.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return targetSet.isEmpty();
+		}
+
+		@Override
+		public Iterator<CommandSender> iterator() {
+			return new TargetSetIterator(targetSet);
+		}
+
+	}
+
+	protected static class TargetSetIterator implements Iterator<CommandSender> {
+
+		private final LibSequenceTargetSet targetSet;
+		private final Iterator<CommandSender> otherIterator;
+		private Player nextPlayer = null;
+		private int nextSlot;
+
+		protected TargetSetIterator(LibSequenceTargetSet targetSet) {
+			this.targetSet = targetSet;
+			this.otherIterator = targetSet.getOtherSenders().iterator();
+			this.nextSlot = targetSet.playerSlots.nextSetBit(0);
+			findNextPlayer();
+		}
+
+		private void findNextPlayer() {
+			nextPlayer = null;
+			while ((nextPlayer == null) && (nextSlot >= 0)) {
+				nextPlayer = targetSet.playerManager.getPlayer(nextSlot);
+				nextSlot = targetSet.playerSlots.nextSetBit(nextSlot + 1);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (nextPlayer != null) || otherIterator.hasNext();
+		}
+
+		@Override
+		public CommandSender next() {
+			if (nextPlayer != null) {
+				Player player = nextPlayer;
+				findNextPlayer();
+				return player;
+			}
+			if (otherIterator.hasNext()) {
+				return otherIterator.next();
+			}
+			throw new NoSuchElementException();
+		}
+
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Keep track of the online players and hand out target sets
+ */
+package de.polarwolf.libsequence.players;
+
+//rest of the file is empty
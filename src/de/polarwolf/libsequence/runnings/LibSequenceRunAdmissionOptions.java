@@ -0,0 +1,30 @@
+package de.polarwolf.libsequence.runnings;
+
+/**
+ * Options for the admission queue. If all running slots are in use, queued
+ * starts wait here until another sequence has ended.
+ *
+ * @param maxQueuedStarts      Maximum number of starts waiting at the same
+ *                             time. If the queue is full, the start is
+ *                             rejected.
+ * @param defaultTimeoutMillis How long a start may wait for a free slot if the
+ *                             caller doesn't give its own timeout, 0 means
+ *                             forever
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunAdmissionQueue
+ *      AdmissionQueue
+ */
+public record LibSequenceRunAdmissionOptions(int maxQueuedStarts, long defaultTimeoutMillis) {
+
+	public static final int DEFAULT_MAX_QUEUED_STARTS = 500;
+
+	public LibSequenceRunAdmissionOptions {
+		if (maxQueuedStarts < 1) {
+			maxQueuedStarts = DEFAULT_MAX_QUEUED_STARTS;
+		}
+		if (defaultTimeoutMillis < 0) {
+			defaultTimeoutMillis = 0;
+		}
+	}
+
+}
@@ -0,0 +1,260 @@
+package de.polarwolf.libsequence.runnings;
+
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_DISABLED;
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_QUEUE_FULL;
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_QUEUE_TIMEOUT;
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_QUOTA_EXCEEDED;
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_TOO_MANY;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import de.polarwolf.libsequence.config.LibSequenceConfigSequence;
+import de.polarwolf.libsequence.token.LibSequenceToken;
+
+/**
+ * Holds the sequence starts which came in while all running slots were in use
+ * or a quota was reached. Each tick the queue admits as many starts as there
+ * are free slots. Starts with a higher priority are admitted first, starts with
+ * the same priority in the order they came in. A start whose quota is still
+ * reached keeps waiting, and the next start in line gets the slot.
+ *
+ * The caller gets a CompletableFuture which completes with the
+ * RunningSequence when the start is admitted. It completes exceptionally if
+ * the start fails, the queue is full or the start has waited too long. The
+ * caller can cancel the future to withdraw the start, the start is removed
+ * from the queue at once.
+ *
+ * The queue is not thread-safe, it is only accessed from the server thread.
+ * A future cancelled on another thread is removed in the next tick.
+ */
+public class LibSequenceRunAdmissionQueue {
+
+	protected final Plugin plugin;
+	protected final LibSequenceRunManager runManager;
+	protected final LibSequenceRunAdmissionOptions admissionOptions;
+	protected final PriorityQueue<QueuedStart> queuedStarts = new PriorityQueue<>(
+			Comparator.comparingInt(QueuedStart::priority).reversed().thenComparingLong(QueuedStart::order));
+
+	private BukkitTask admissionTask = null;
+	private long nextOrder = 0;
+	private long enqueuedStarts = 0;
+	private long admittedStarts = 0;
+	private long timedOutStarts = 0;
+	private long rejectedStarts = 0;
+	private int maxQueuedStarts = 0;
+	private boolean bDisabled = false;
+
+	public LibSequenceRunAdmissionQueue(Plugin plugin, LibSequenceRunManager runManager,
+			LibSequenceRunAdmissionOptions admissionOptions) {
+		this.plugin = plugin;
+		this.runManager = runManager;
+		this.admissionOptions = admissionOptions;
+	}
+
+	public LibSequenceRunAdmissionOptions getAdmissionOptions() {
+		return admissionOptions;
+	}
+
+	public boolean isEmpty() {
+		return queuedStarts.isEmpty();
+	}
+
+	/**
+	 * Get the number of starts currently waiting for a free slot
+	 */
+	public int getNumberOfQueuedStarts() {
+		return queuedStarts.size();
+	}
+
+	/**
+	 * Get the highest number of starts which were waiting at the same time
+	 */
+	public int getMaxQueuedStarts() {
+		return maxQueuedStarts;
+	}
+
+	public long getEnqueuedStarts() {
+		return enqueuedStarts;
+	}
+
+	public long getAdmittedStarts() {
+		return admittedStarts;
+	}
+
+	public long getTimedOutStarts() {
+		return timedOutStarts;
+	}
+
+	/**
+	 * Get the number of starts which were rejected because the queue was full
+	 */
+	public long getRejectedStarts() {
+		return rejectedStarts;
+	}
+
+	/**
+	 * Queue a start until a running slot is free
+	 *
+	 * @param priority      Starts with a higher priority are admitted first
+	 * @param timeoutMillis How long the start may wait, 0 to use the default
+	 *                      timeout
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> enqueue(LibSequenceToken runnerToken,
+			LibSequenceConfigSequence configSequence, LibSequenceToken securityToken,
+			LibSequenceRunOptions runOptions, int priority, long timeoutMillis) {
+		String sequenceName = configSequence.getSequenceName();
+		if (bDisabled) {
+			return CompletableFuture.failedFuture(new LibSequenceRunException(sequenceName, 0, LSRERR_DISABLED, null));
+		}
+		if (queuedStarts.size() >= admissionOptions.maxQueuedStarts()) {
+			rejectedStarts = rejectedStarts + 1;
+			return CompletableFuture
+					.failedFuture(new LibSequenceRunException(sequenceName, 0, LSRERR_QUEUE_FULL, null));
+		}
+
+		if (timeoutMillis <= 0) {
+			timeoutMillis = admissionOptions.defaultTimeoutMillis();
+		}
+		long deadlineMillis = Long.MAX_VALUE;
+		if (timeoutMillis > 0) {
+			deadlineMillis = System.currentTimeMillis() + timeoutMillis;
+		}
+
+		CompletableFuture<LibSequenceRunningSequence> future = new CompletableFuture<>();
+		QueuedStart queuedStart = new QueuedStart(runnerToken, configSequence, securityToken, runOptions, priority,
+				deadlineMillis, nextOrder, future);
+		queuedStarts.add(queuedStart);
+		future.whenComplete((runningSequence, e) -> {
+			if (future.isCancelled()) {
+				withdraw(queuedStart);
+			}
+		});
+		nextOrder = nextOrder + 1;
+		enqueuedStarts = enqueuedStarts + 1;
+		maxQueuedStarts = Math.max(maxQueuedStarts, queuedStarts.size());
+		startAdmissionTask();
+		return future;
+	}
+
+	// The removal from a PriorityQueue is a linear scan, but the queue is small
+	// Other threads leave the cancelled start to removeExpiredStarts
+	protected void withdraw(QueuedStart queuedStart) {
+		if (Bukkit.isPrimaryThread()) {
+			queuedStarts.remove(queuedStart);
+		}
+	}
+
+	public void disable() {
+		bDisabled = true;
+		stopAdmissionTask();
+		List<QueuedStart> pendingStarts = new ArrayList<>(queuedStarts);
+		queuedStarts.clear();
+		for (QueuedStart queuedStart : pendingStarts) {
+			queuedStart.future().completeExceptionally(new LibSequenceRunException(
+					queuedStart.configSequence().getSequenceName(), 0, LSRERR_DISABLED, null));
+		}
+	}
+
+	protected void startAdmissionTask() {
+		if (admissionTask == null) {
+			admissionTask = new AdmissionTask(this).runTaskTimer(plugin, 1, 1);
+		}
+	}
+
+	protected void stopAdmissionTask() {
+		if (admissionTask != null) {
+			admissionTask.cancel();
+			admissionTask = null;
+		}
+	}
+
+	// Withdrawn starts are removed, too
+	protected void removeExpiredStarts() {
+		long nowMillis = System.currentTimeMillis();
+		List<QueuedStart> expiredStarts = new ArrayList<>();
+		queuedStarts.removeIf(queuedStart -> {
+			if (queuedStart.future().isDone()) {
+				return true;
+			}
+			if (queuedStart.deadlineMillis() <= nowMillis) {
+				expiredStarts.add(queuedStart);
+				return true;
+			}
+			return false;
+		});
+		for (QueuedStart queuedStart : expiredStarts) {
+			timedOutStarts = timedOutStarts + 1;
+			queuedStart.future().completeExceptionally(new LibSequenceRunException(
+					queuedStart.configSequence().getSequenceName(), 0, LSRERR_QUEUE_TIMEOUT, null));
+		}
+	}
+
+	// The start can fail for other reasons (e.g. singleton already running)
+	// In this case the caller gets the exception by the future
+	// A start rejected for capacity or quota is not failed, it keeps waiting
+	protected boolean admit(QueuedStart queuedStart) {
+		try {
+			LibSequenceRunningSequence runningSequence = runManager.execute(queuedStart.runnerToken(),
+					queuedStart.configSequence(), queuedStart.securityToken(), queuedStart.runOptions());
+			admittedStarts = admittedStarts + 1;
+			queuedStart.future().complete(runningSequence);
+		} catch (LibSequenceRunException e) {
+			if ((e.getErrorCode() == LSRERR_TOO_MANY) || (e.getErrorCode() == LSRERR_QUOTA_EXCEEDED)) {
+				return false;
+			}
+			queuedStart.future().completeExceptionally(e);
+		}
+		return true;
+	}
+
+	// A start whose quota is reached stays in the queue until its timeout
+	protected void onTick() {
+		removeExpiredStarts();
+		List<QueuedStart> blockedStarts = new ArrayList<>();
+		while (!queuedStarts.isEmpty()
+				&& (runManager.getNumberOfRunningSequences() < runManager.getMaxCurrentSequences())) {
+			QueuedStart queuedStart = queuedStarts.poll();
+			if (queuedStart.future().isDone()) {
+				continue;
+			}
+			if (!runManager.canAdmit(queuedStart.runnerToken(), queuedStart.configSequence())
+					|| !admit(queuedStart)) {
+				blockedStarts.add(queuedStart);
+			}
+		}
+		queuedStarts.addAll(blockedStarts);
+		if (queuedStarts.isEmpty()) {
+			stopAdmissionTask();
+		}
+	}
+
+	protected record QueuedStart(LibSequenceToken runnerToken, LibSequenceConfigSequence configSequence,
+			LibSequenceToken securityToken, LibSequenceRunOptions runOptions, int priority, long deadlineMillis,
+			long order, CompletableFuture<LibSequenceRunningSequence> future) {
+	}
+
+	private static final class AdmissionTask extends BukkitRunnable {
+
+		private final LibSequenceRunAdmissionQueue admissionQueue;
+
+		private AdmissionTask(LibSequenceRunAdmissionQueue admissionQueue) {
+			this.admissionQueue = admissionQueue;
+		}
+
+		@Override
+		public void run() {
+			admissionQueue.onTick();
+		}
+
+	}
+
+}
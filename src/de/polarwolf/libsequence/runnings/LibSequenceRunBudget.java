@@ -0,0 +1,154 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Limits the time the sequence steps can use on the main thread per tick. If
+ * the budget of the current tick is used up, the due steps are carried over to
+ * the next tick. The carried over steps are served first (FIFO), so no
+ * sequence can starve. At least one step is executed in each tick, even if it
+ * alone exceeds the budget.
+ *
+ * Each carry-over of a step to the next tick is counted as a deferral.
+ *
+ * The budget is not thread-safe, it is only accessed from the server thread.
+ */
+public class LibSequenceRunBudget {
+
+	protected final long budgetNanos;
+	protected final Deque<LibSequenceRunningSequence> deferredSequences = new ArrayDeque<>();
+	private final BukkitTask budgetTask;
+
+	private long spentNanos = 0;
+	private long executedSteps = 0;
+	private long deferrals = 0;
+	private long exhaustedTicks = 0;
+	private int maxDeferredSteps = 0;
+	private boolean bExhausted = false;
+	private boolean bDisabled = false;
+
+	// Must be created before the scheduler, so the budget task runs first in
+	// each tick and the carried over steps are served before the new ones
+	public LibSequenceRunBudget(Plugin plugin, long budgetNanos) {
+		this.budgetNanos = budgetNanos;
+		budgetTask = new BudgetTask(this).runTaskTimer(plugin, 1, 1);
+	}
+
+	public long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	/**
+	 * Get the number of steps currently waiting for the next tick
+	 */
+	public int getNumberOfDeferredSteps() {
+		return deferredSequences.size();
+	}
+
+	/**
+	 * Get the highest number of steps which were waiting at the same time
+	 */
+	public int getMaxDeferredSteps() {
+		return maxDeferredSteps;
+	}
+
+	/**
+	 * Get the number of times a step was carried over to the next tick
+	 */
+	public long getDeferrals() {
+		return deferrals;
+	}
+
+	/**
+	 * Get the number of ticks in which the budget was used up
+	 */
+	public long getExhaustedTicks() {
+		return exhaustedTicks;
+	}
+
+	public long getExecutedSteps() {
+		return executedSteps;
+	}
+
+	/**
+	 * Execute the next step of the sequence now, or in a later tick if the
+	 * budget is used up
+	 */
+	public void submit(LibSequenceRunningSequence runningSequence) {
+		if (deferredSequences.isEmpty() && (spentNanos < budgetNanos)) {
+			execute(runningSequence);
+			return;
+		}
+		markExhausted();
+		deferredSequences.addLast(runningSequence);
+		deferrals = deferrals + 1;
+		maxDeferredSteps = Math.max(maxDeferredSteps, deferredSequences.size());
+	}
+
+	/**
+	 * Stop the budget. The steps still waiting for a later tick are not executed
+	 * anymore, their sequences are cancelled.
+	 */
+	public void disable() {
+		bDisabled = true;
+		while (!deferredSequences.isEmpty()) {
+			deferredSequences.pollFirst().cancel();
+		}
+		stopIfIdle();
+	}
+
+	protected void stopIfIdle() {
+		if (bDisabled && deferredSequences.isEmpty() && !budgetTask.isCancelled()) {
+			budgetTask.cancel();
+		}
+	}
+
+	protected void markExhausted() {
+		if (!bExhausted) {
+			bExhausted = true;
+			exhaustedTicks = exhaustedTicks + 1;
+		}
+	}
+
+	protected void execute(LibSequenceRunningSequence runningSequence) {
+		long startNanos = System.nanoTime();
+		runningSequence.executeScheduledStep();
+		spentNanos = spentNanos + (System.nanoTime() - startNanos);
+		executedSteps = executedSteps + 1;
+	}
+
+	protected void onTick() {
+		spentNanos = 0;
+		bExhausted = false;
+		while (!deferredSequences.isEmpty()) {
+			if (spentNanos >= budgetNanos) {
+				markExhausted();
+				deferrals = deferrals + deferredSequences.size();
+				break;
+			}
+			execute(deferredSequences.pollFirst());
+		}
+		stopIfIdle();
+	}
+
+	private static final class BudgetTask extends BukkitRunnable {
+
+		private final LibSequenceRunBudget budget;
+
+		private BudgetTask(LibSequenceRunBudget budget) {
+			this.budget = budget;
+		}
+
+		@Override
+		public void run() {
+			budget.onTick();
+		}
+
+	}
+
+}
@@ -18,6 +18,9 @@ public enum LibSequenceRunErrors {
 	LSRERR_SINGLETON_RUNNING("The singeton sequence is already running"),
 	LSRERR_ACTION_AUTH_FAILED("At least one action is not authorizing us"),
 	LSRERR_CHAIN_RESOLVE_FAILED("Failed resolving chains"),
+	LSRERR_QUOTA_EXCEEDED("The quota of running sequences is reached"),
+	LSRERR_QUEUE_FULL("The admission queue is full"),
+	LSRERR_QUEUE_TIMEOUT("Timeout while waiting for a free sequence slot"),
 	LSRERR_DISABLED("LibSequence instance is shut down");
 
 	private final String errorText;
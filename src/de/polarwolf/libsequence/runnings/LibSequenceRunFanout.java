@@ -0,0 +1,93 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
+import de.polarwolf.libsequence.config.LibSequenceConfigStep;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderException;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+
+/**
+ * Resolves a multilanguage-attribute for a list of targets. The placeholders
+ * are resolved in the context of the sequence (the initiator), so the text
+ * only depends on the language of the target. Targets sharing the same
+ * language variant get the same resolved text, and each variant is resolved
+ * only once.
+ *
+ * The object is meant to live for a single action execution, because
+ * placeholder values can change at any time.
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunningSequence#findValueLocalizedAndResolvePlaceholder
+ *      RunningSequence.findValueLocalizedAndResolvePlaceholder
+ */
+public class LibSequenceRunFanout {
+
+	protected final LibSequenceRunningSequence runningSequence;
+	protected final LibSequenceConfigStep configStep;
+	protected final LibSequenceConfigCompiledStep compiledStep;
+	protected final String attributeName;
+
+	// Compiled steps: one entry per language variant
+	protected final Map<LibSequencePlaceholderTemplate, String> variantTexts = new IdentityHashMap<>();
+
+	// Not compiled steps: one entry per locale
+	protected final Map<String, String> localeTexts = new HashMap<>();
+
+	protected String defaultText = null;
+	protected boolean bDefaultResolved = false;
+
+	public LibSequenceRunFanout(LibSequenceRunningSequence runningSequence, LibSequenceConfigStep configStep,
+			String attributeName) {
+		this.runningSequence = runningSequence;
+		this.configStep = configStep;
+		this.compiledStep = configStep.getCompiledStep();
+		this.attributeName = attributeName;
+	}
+
+	/**
+	 * Get the resolved text for the given target
+	 *
+	 * @param target The receiver of the text. Non-players get the
+	 *               non-multilanguage value.
+	 * @return The text, or NULL if the attribute is not defined
+	 */
+	public String resolve(CommandSender target) throws LibSequencePlaceholderException {
+		String locale = null;
+		if (target instanceof Player player) {
+			locale = player.getLocale();
+		}
+
+		if (compiledStep != null) {
+			LibSequencePlaceholderTemplate template = compiledStep.findTemplateLocalized(attributeName, locale);
+			if (template == null) {
+				return null;
+			}
+			String text = variantTexts.get(template);
+			if (text == null) {
+				text = runningSequence.resolvePlaceholder(attributeName, template);
+				variantTexts.put(template, text);
+			}
+			return text;
+		}
+
+		if (locale == null) {
+			if (!bDefaultResolved) {
+				defaultText = runningSequence.findValueLocalizedAndResolvePlaceholder(configStep, attributeName,
+						target);
+				bDefaultResolved = true;
+			}
+			return defaultText;
+		}
+		if (!localeTexts.containsKey(locale)) {
+			localeTexts.put(locale,
+					runningSequence.findValueLocalizedAndResolvePlaceholder(configStep, attributeName, target));
+		}
+		return localeTexts.get(locale);
+	}
+
+}
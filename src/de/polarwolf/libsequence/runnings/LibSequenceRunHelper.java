@@ -2,21 +2,41 @@ package de.polarwolf.libsequence.runnings;
 
 import java.util.Set;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permissible;
 
+import de.polarwolf.libsequence.actions.LibSequenceActionAffinity;
 import de.polarwolf.libsequence.checks.LibSequenceCheckException;
 import de.polarwolf.libsequence.checks.LibSequenceCheckManager;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionExpression;
 import de.polarwolf.libsequence.conditions.LibSequenceConditionManager;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionResolver;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionValue;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
+import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.includes.LibSequenceIncludeException;
 import de.polarwolf.libsequence.includes.LibSequenceIncludeManager;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderException;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
+import de.polarwolf.libsequence.players.LibSequencePlayerState;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 
 /**
  * Helper for the running sequence to call library functions
  *
+ * Steps of ANY_THREAD and ASYNC_IO actions run outside of the server thread.
+ * Such a step may only use the placeholder functions (resolvePlaceholder and
+ * containsPlaceholder; PlaceholderAPI values are only available if cached) and
+ * the condition functions with a resolver which doesn't touch Bukkit, and
+ * the player states already in the snapshot of the current tick. The checks,
+ * includes and permission targets read the world and the players, so they
+ * must only be used on the server thread.
+ *
+ * @see de.polarwolf.libsequence.actions.LibSequenceActionAffinity
  */
 public class LibSequenceRunHelper {
 
@@ -55,6 +75,37 @@ public class LibSequenceRunHelper {
 		return placeholderManager.resolvePlaceholder(messageText, runOptions);
 	}
 
+	/**
+	 * Resolve Placeholders in a precompiled template
+	 *
+	 * @see de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager
+	 * @see <A href=
+	 *      "https://github.com/Kirastur/LibSequence/wiki/Placeholders">Placeholder</A>
+	 *      (WIKI)
+	 */
+	public String resolvePlaceholder(LibSequencePlaceholderTemplate template, LibSequenceRunOptions runOptions)
+			throws LibSequencePlaceholderException {
+		return placeholderManager.resolvePlaceholder(template, runOptions);
+	}
+
+	/**
+	 * Fold the placeholders of the runOptions into a copy of the template
+	 *
+	 * @see de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager#specializeTemplate
+	 */
+	public LibSequencePlaceholderTemplate specializeTemplate(LibSequencePlaceholderTemplate template,
+			LibSequenceRunOptions runOptions) {
+		return placeholderManager.specializeTemplate(template, runOptions);
+	}
+
+	/**
+	 * Check if all runs should specialize their templates, regardless of the
+	 * runOptions
+	 */
+	public boolean isSpecializePlaceholders() {
+		return runManager.isSpecializePlaceholders();
+	}
+
 	/**
 	 * Resolve placeholders, but for a different player than the initiator
 	 *
@@ -65,11 +116,22 @@ public class LibSequenceRunHelper {
 	 */
 	public String resolvePlaceholderForOtherPlayer(String messageText, LibSequenceRunOptions runOptions, Player player)
 			throws LibSequencePlaceholderException {
-		LibSequenceRunOptions playerRunOptions = runOptions.getCopy();
-		playerRunOptions.setInitiator(player);
+		LibSequenceRunOptions playerRunOptions = runOptions.getOverlay(player);
 		return placeholderManager.resolvePlaceholder(messageText, playerRunOptions);
 	}
 
+	/**
+	 * Resolve placeholders in a precompiled template, but for a different player
+	 * than the initiator
+	 *
+	 * @see de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager
+	 */
+	public String resolvePlaceholderForOtherPlayer(LibSequencePlaceholderTemplate template,
+			LibSequenceRunOptions runOptions, Player player) throws LibSequencePlaceholderException {
+		LibSequenceRunOptions playerRunOptions = runOptions.getOverlay(player);
+		return placeholderManager.resolvePlaceholder(template, playerRunOptions);
+	}
+
 	/**
 	 * Test if a sting seems to contain placeholders, so we can warn that the
 	 * resolver could not handle all placeholders
@@ -97,6 +159,36 @@ public class LibSequenceRunHelper {
 		return conditionManager.performConditions(conditionText, runningSequence);
 	}
 
+	/**
+	 * Get the compiled expression of an unresolved condition text
+	 *
+	 * @see de.polarwolf.libsequence.conditions.LibSequenceConditionManager#compileCondition
+	 */
+	public LibSequenceConditionExpression compileCondition(String conditionText) {
+		return conditionManager.compileCondition(conditionText);
+	}
+
+	/**
+	 * Evaluate a compiled condition expression
+	 *
+	 * @see de.polarwolf.libsequence.conditions.LibSequenceConditionManager#evaluateExpression
+	 */
+	public LibSequenceConditionValue evaluateCondition(LibSequenceConditionExpression expression,
+			LibSequenceConditionResolver resolver, LibSequenceRunningSequence runningSequence)
+			throws LibSequenceException {
+		return conditionManager.evaluateExpression(expression, resolver, runningSequence);
+	}
+
+	/**
+	 * Convert the result of a condition expression to TRUE/FALSE
+	 *
+	 * @see de.polarwolf.libsequence.conditions.LibSequenceConditionManager#isTrue
+	 */
+	public boolean resolveCondition(LibSequenceConditionValue conditionValue,
+			LibSequenceRunningSequence runningSequence) {
+		return conditionManager.isTrue(conditionValue, runningSequence);
+	}
+
 	// Gateway to CheckManager
 	/**
 	 * Perform checks (check_*)
@@ -122,6 +214,57 @@ public class LibSequenceRunHelper {
 		return includeManager.performIncludes(runningSequence, configStep);
 	}
 
+	/**
+	 * Perform includes (include_*) and get the result as bitset-based target set
+	 *
+	 * @see de.polarwolf.libsequence.includes.LibSequenceIncludeManager
+	 * @see <A href=
+	 *      "https://github.com/Kirastur/LibSequence/wiki/Includes">Includes</A>
+	 *      (WIKI)
+	 */
+	public LibSequenceTargetSet performIncludeTargets(LibSequenceConfigStep configStep)
+			throws LibSequenceIncludeException {
+		return includeManager.performIncludeTargets(runningSequence, configStep);
+	}
+
+	// Gateway to PlayerManager
+	/**
+	 * Get the state of a player from the snapshot of the current tick. A step on
+	 * a worker thread gets NULL if the player is not part of the snapshot.
+	 *
+	 * @see de.polarwolf.libsequence.players.LibSequencePlayerSnapshot
+	 */
+	public LibSequencePlayerState getPlayerState(Player player) {
+		return runManager.getPlayerManager().getPlayerState(player);
+	}
+
+	/**
+	 * Check if the PlayerManager has a permission index
+	 */
+	public boolean hasPermissionIndex() {
+		LibSequencePlayerManager playerManager = runManager.getPlayerManager();
+		return (playerManager != null) && (playerManager.getPermissionIndex() != null);
+	}
+
+	/**
+	 * Get all online players and the other senders (e.g. the console) which
+	 * have the given permission. Other senders are taken from the permission
+	 * subscriptions, the same way Bukkit.broadcast does.
+	 *
+	 * @see de.polarwolf.libsequence.players.LibSequencePermissionIndex
+	 */
+	public LibSequenceTargetSet findPermissionTargets(String permission) {
+		LibSequenceTargetSet targets = runManager.getPlayerManager().createTargetSet();
+		targets.addPermission(permission, false);
+		for (Permissible permissible : Bukkit.getPluginManager().getPermissionSubscriptions(permission)) {
+			if ((permissible instanceof CommandSender sender) && !(permissible instanceof Player)
+					&& sender.hasPermission(permission)) {
+				targets.add(sender);
+			}
+		}
+		return targets;
+	}
+
 	// Gateway to runManager
 	/**
 	 * Notify the RunManager that the sequence has started
@@ -151,4 +294,32 @@ public class LibSequenceRunHelper {
 		runManager.executeStep(runningSequence, configStep);
 	}
 
+	/**
+	 * Ask the RunManager on which thread the step should be executed
+	 */
+	protected LibSequenceActionAffinity getThreadAffinity(LibSequenceConfigStep configStep) {
+		return runManager.getThreadAffinity(configStep);
+	}
+
+	/**
+	 * Instruct the RunManager to execute a step outside of the server thread
+	 */
+	protected void executeWorkerStep(LibSequenceConfigStep configStep, LibSequenceActionAffinity affinity) {
+		runManager.executeWorkerStep(runningSequence, configStep, affinity);
+	}
+
+	/**
+	 * Instruct the RunManager to wake up the sequence after the given ticks
+	 */
+	protected LibSequenceRunTimer scheduleStep(int waitTicks) {
+		return runManager.scheduleStep(runningSequence, waitTicks);
+	}
+
+	/**
+	 * Let the RunManager execute the next step, respecting the tick budget
+	 */
+	protected void dispatchScheduledStep() {
+		runManager.dispatchScheduledStep(runningSequence);
+	}
+
 }
@@ -1,13 +1,18 @@
 package de.polarwolf.libsequence.runnings;
 
+import static de.polarwolf.libsequence.actions.LibSequenceActionErrors.LSAERR_JAVA_EXCEPTION;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_DISABLED;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_JAVA_EXCEPTION;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_NOT_AUTHORIZED;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_NOT_RUNNING;
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_QUOTA_EXCEEDED;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_SINGLETON_RUNNING;
 import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_TOO_MANY;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 //The tree is: RunManager ==> RunningSequence
 //
@@ -16,20 +21,28 @@ import java.util.ArrayList;
 //It acts as an interface between the scheduler and the API
 
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.plugin.Plugin;
 
+import de.polarwolf.libsequence.actions.LibSequenceActionAffinity;
 import de.polarwolf.libsequence.actions.LibSequenceActionException;
 import de.polarwolf.libsequence.actions.LibSequenceActionManager;
 import de.polarwolf.libsequence.chains.LibSequenceChainManager;
 import de.polarwolf.libsequence.checks.LibSequenceCheckManager;
 import de.polarwolf.libsequence.conditions.LibSequenceConditionManager;
+import de.polarwolf.libsequence.config.LibSequenceConfigException;
+import de.polarwolf.libsequence.config.LibSequenceConfigManager;
 import de.polarwolf.libsequence.config.LibSequenceConfigSequence;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
 import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.includes.LibSequenceIncludeManager;
 import de.polarwolf.libsequence.orchestrator.LibSequenceOrchestrator;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderManager;
+import de.polarwolf.libsequence.players.LibSequencePlayerManager;
 import de.polarwolf.libsequence.token.LibSequenceToken;
 
 /**
@@ -51,11 +64,37 @@ public class LibSequenceRunManager {
 	protected final LibSequenceIncludeManager includeManager;
 	protected final LibSequenceActionManager actionManager;
 	protected final LibSequenceChainManager chainManager;
+	protected final LibSequencePlayerManager playerManager;
+	protected final LibSequenceConfigManager configManager;
 	protected final int maxCurrentSequences;
+	protected final LibSequenceRunQuotaOptions quotaOptions;
+	protected final boolean bSpecializePlaceholders;
+	protected final LibSequenceRunBudget runBudget;
+	protected final LibSequenceRunScheduler scheduler;
+	protected final LibSequenceRunAdmissionQueue admissionQueue;
+	protected final LibSequenceRunSubmitQueue submitQueue;
+	protected final LibSequenceRunWorkerPool workerPool;
 
 	private boolean bDisabled = false;
-
-	protected final List<LibSequenceRunningSequence> sequences = new ArrayList<>();
+	private long quotaRejections = 0;
+
+	// Sequences already validated in the current batch, NULL if no batch is
+	// running
+	private Set<LibSequenceConfigSequence> validatedSequences = null;
+
+	// All sequences which are currently running, plus secondary indexes so
+	// admission checks and lookups do not need to scan the complete list.
+	// The owner is not indexed directly, because the ownerToken is private to
+	// the ConfigSequence. Instead we ask each distinct ConfigSequence.
+	protected final Set<LibSequenceRunningSequence> sequences = new LinkedHashSet<>();
+	protected final Map<LibSequenceConfigSequence, Set<LibSequenceRunningSequence>> sequencesByConfig = new HashMap<>();
+	protected final Map<String, Set<LibSequenceRunningSequence>> sequencesByName = new HashMap<>();
+	protected final Map<LibSequenceToken, Set<LibSequenceRunningSequence>> sequencesByRunner = new HashMap<>();
+
+	// The section index is only maintained if quotas are set. The section name
+	// is looked up once per ConfigSequence and kept as long as it is running.
+	protected final Map<String, Set<LibSequenceRunningSequence>> sequencesBySection = new HashMap<>();
+	protected final Map<LibSequenceConfigSequence, String> sectionNames = new HashMap<>();
 
 	public LibSequenceRunManager(LibSequenceOrchestrator orchestrator) {
 		this.plugin = orchestrator.getPlugin();
@@ -65,7 +104,117 @@ public class LibSequenceRunManager {
 		this.includeManager = orchestrator.getIncludeManager();
 		this.actionManager = orchestrator.getActionManager();
 		this.chainManager = orchestrator.getChainManager();
+		this.playerManager = orchestrator.getPlayerManager();
+		this.configManager = orchestrator.getConfigManager();
 		this.maxCurrentSequences = orchestrator.getMaxCurrentSequences();
+		this.quotaOptions = orchestrator.getQuotaOptions();
+		this.bSpecializePlaceholders = orchestrator.isSpecializePlaceholders();
+		this.runBudget = createRunBudget(orchestrator.getTickBudgetNanos());
+		this.scheduler = createScheduler(orchestrator.isUseTimerWheel());
+		this.admissionQueue = createAdmissionQueue(orchestrator.getAdmissionOptions());
+		this.submitQueue = createSubmitQueue();
+		this.workerPool = createWorkerPool(orchestrator.getWorkerThreads());
+	}
+
+	// Create the budget which limits the step execution time per tick
+	// Returns NULL if the time is not limited
+	protected LibSequenceRunBudget createRunBudget(long tickBudgetNanos) {
+		if (tickBudgetNanos <= 0) {
+			return null;
+		}
+		return new LibSequenceRunBudget(plugin, tickBudgetNanos);
+	}
+
+	// Create the scheduler which wakes up the sequences after a wait
+	// You can overwrite this if you want to use your own scheduler
+	protected LibSequenceRunScheduler createScheduler(boolean useTimerWheel) {
+		if (useTimerWheel) {
+			return new LibSequenceRunSchedulerWheel(plugin);
+		}
+		return new LibSequenceRunSchedulerTask(plugin);
+	}
+
+	// Create the queue for starts which came in while all slots were in use
+	// Returns NULL if these starts should be rejected
+	protected LibSequenceRunAdmissionQueue createAdmissionQueue(LibSequenceRunAdmissionOptions admissionOptions) {
+		if (admissionOptions == null) {
+			return null;
+		}
+		return new LibSequenceRunAdmissionQueue(plugin, this, admissionOptions);
+	}
+
+	// Create the queue for starts coming from other threads
+	protected LibSequenceRunSubmitQueue createSubmitQueue() {
+		return new LibSequenceRunSubmitQueue(plugin, this);
+	}
+
+	// Create the pool for steps which can run outside of the server thread
+	// Returns NULL if all steps run on the server thread
+	protected LibSequenceRunWorkerPool createWorkerPool(int workerThreads) {
+		if (workerThreads <= 0) {
+			return null;
+		}
+		return new LibSequenceRunWorkerPool(plugin, workerThreads);
+	}
+
+	public LibSequenceRunScheduler getScheduler() {
+		return scheduler;
+	}
+
+	public LibSequencePlayerManager getPlayerManager() {
+		return playerManager;
+	}
+
+	/**
+	 * Get the tick budget, or NULL if the step execution time is not limited
+	 */
+	public LibSequenceRunBudget getRunBudget() {
+		return runBudget;
+	}
+
+	/**
+	 * Get the admission queue, or NULL if starts are rejected when all slots are
+	 * in use
+	 */
+	public LibSequenceRunAdmissionQueue getAdmissionQueue() {
+		return admissionQueue;
+	}
+
+	/**
+	 * Get the worker pool, or NULL if all steps run on the server thread
+	 */
+	public LibSequenceRunWorkerPool getWorkerPool() {
+		return workerPool;
+	}
+
+	public LibSequenceRunSubmitQueue getSubmitQueue() {
+		return submitQueue;
+	}
+
+	public LibSequenceRunStatus getRunStatus() {
+		LibSequenceRunStatus runStatus = new LibSequenceRunStatus(getNumberOfRunningSequences(),
+				getMaxCurrentSequences());
+		if (runBudget != null) {
+			runStatus.setBudget(runBudget.getBudgetNanos(), runBudget.getNumberOfDeferredSteps(),
+					runBudget.getMaxDeferredSteps(), runBudget.getDeferrals(), runBudget.getExhaustedTicks());
+		}
+		if (admissionQueue != null) {
+			runStatus.setAdmission(admissionQueue.getAdmissionOptions().maxQueuedStarts(),
+					admissionQueue.getNumberOfQueuedStarts(), admissionQueue.getMaxQueuedStarts(),
+					admissionQueue.getAdmittedStarts(), admissionQueue.getTimedOutStarts(),
+					admissionQueue.getRejectedStarts());
+		}
+
+		Map<String, Integer> runningBySection = new HashMap<>();
+		for (Entry<String, Set<LibSequenceRunningSequence>> entry : sequencesBySection.entrySet()) {
+			runningBySection.put(entry.getKey(), entry.getValue().size());
+		}
+		runStatus.setQuotas(quotaOptions, quotaRejections, runningBySection);
+		return runStatus;
+	}
+
+	public boolean isSpecializePlaceholders() {
+		return bSpecializePlaceholders;
 	}
 
 	public final boolean isDisabled() {
@@ -81,22 +230,140 @@ public class LibSequenceRunManager {
 	}
 
 	public int getNumberOfRunningSequences() {
-		int i = 0;
-		for (LibSequenceRunningSequence sequence : sequences) {
-			if (!sequence.isFinished()) {
-				i = i + 1;
+		return sequences.size();
+	}
+
+	/**
+	 * Get the quotas, or NULL if only the global maximum is enforced
+	 */
+	public LibSequenceRunQuotaOptions getQuotaOptions() {
+		return quotaOptions;
+	}
+
+	/**
+	 * Get the number of starts which were rejected because a quota was reached
+	 */
+	public long getQuotaRejections() {
+		return quotaRejections;
+	}
+
+	public boolean isRunning(LibSequenceConfigSequence configSequence) {
+		return sequencesByConfig.containsKey(configSequence);
+	}
+
+	protected static <K> void addToIndex(Map<K, Set<LibSequenceRunningSequence>> index, K key,
+			LibSequenceRunningSequence runningSequence) {
+		index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(runningSequence);
+	}
+
+	protected static <K> void removeFromIndex(Map<K, Set<LibSequenceRunningSequence>> index, K key,
+			LibSequenceRunningSequence runningSequence) {
+		Set<LibSequenceRunningSequence> indexedSequences = index.get(key);
+		if ((indexedSequences != null) && indexedSequences.remove(runningSequence) && indexedSequences.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	protected static <K> int countIndexed(Map<K, Set<LibSequenceRunningSequence>> index, K key) {
+		Set<LibSequenceRunningSequence> indexedSequences = index.get(key);
+		if (indexedSequences == null) {
+			return 0;
+		}
+		return indexedSequences.size();
+	}
+
+	// Returns NULL if the sequence is not part of a section
+	protected String findSectionName(LibSequenceConfigSequence configSequence) {
+		String sectionName = sectionNames.get(configSequence);
+		if (sectionName == null) {
+			sectionName = configManager.findSectionName(configSequence);
+		}
+		return sectionName;
+	}
+
+	protected void addRunningSequence(LibSequenceRunningSequence runningSequence) {
+		if (!sequences.add(runningSequence)) {
+			return;
+		}
+		addToIndex(sequencesByConfig, runningSequence.configSequence, runningSequence);
+		addToIndex(sequencesByName, runningSequence.getName(), runningSequence);
+		addToIndex(sequencesByRunner, runningSequence.runnerToken, runningSequence);
+		if (quotaOptions != null) {
+			String sectionName = findSectionName(runningSequence.configSequence);
+			if (sectionName != null) {
+				sectionNames.put(runningSequence.configSequence, sectionName);
+				addToIndex(sequencesBySection, sectionName, runningSequence);
 			}
 		}
-		return i;
 	}
 
-	public boolean isRunning(LibSequenceConfigSequence configSequence) {
-		for (LibSequenceRunningSequence sequence : sequences) {
-			if ((sequence.configSequence == configSequence) && (!sequence.isFinished())) {
-				return true;
+	protected void removeRunningSequence(LibSequenceRunningSequence runningSequence) {
+		if (!sequences.remove(runningSequence)) {
+			return;
+		}
+		removeFromIndex(sequencesByConfig, runningSequence.configSequence, runningSequence);
+		removeFromIndex(sequencesByName, runningSequence.getName(), runningSequence);
+		removeFromIndex(sequencesByRunner, runningSequence.runnerToken, runningSequence);
+		String sectionName = sectionNames.get(runningSequence.configSequence);
+		if (sectionName != null) {
+			removeFromIndex(sequencesBySection, sectionName, runningSequence);
+			if (!sequencesByConfig.containsKey(runningSequence.configSequence)) {
+				sectionNames.remove(runningSequence.configSequence);
 			}
 		}
-		return false;
+	}
+
+	protected LibSequenceRunException createQuotaException(String sequenceName, String quotaName) {
+		quotaRejections = quotaRejections + 1;
+		return new LibSequenceRunException(sequenceName, 0, LSRERR_QUOTA_EXCEEDED, quotaName);
+	}
+
+	// Has the runner, the section or the sequence reached its quota?
+	// The counts are taken from the indexes, so no scan is needed
+	// Returns the name of the exceeded quota, or NULL if the start is allowed
+	protected String findExceededQuota(LibSequenceToken runnerToken, LibSequenceConfigSequence configSequence) {
+		if (quotaOptions == null) {
+			return null;
+		}
+		String sequenceName = configSequence.getSequenceName();
+
+		int maxPerRunner = quotaOptions.maxPerRunner();
+		if ((maxPerRunner > 0) && (countIndexed(sequencesByRunner, runnerToken) >= maxPerRunner)) {
+			return "runner";
+		}
+
+		if (quotaOptions.hasSectionQuotas()) {
+			String sectionName = findSectionName(configSequence);
+			if (sectionName != null) {
+				int maxPerSection = quotaOptions.findSectionQuota(sectionName);
+				if ((maxPerSection > 0) && (countIndexed(sequencesBySection, sectionName) >= maxPerSection)) {
+					return "section " + sectionName;
+				}
+			}
+		}
+
+		int maxPerSequence = quotaOptions.findSequenceQuota(sequenceName);
+		if ((maxPerSequence > 0) && (countIndexed(sequencesByName, sequenceName) >= maxPerSequence)) {
+			return "sequence " + sequenceName;
+		}
+		return null;
+	}
+
+	protected void checkQuotas(LibSequenceToken runnerToken, LibSequenceConfigSequence configSequence)
+			throws LibSequenceRunException {
+		String quotaName = findExceededQuota(runnerToken, configSequence);
+		if (quotaName != null) {
+			throw createQuotaException(configSequence.getSequenceName(), quotaName);
+		}
+	}
+
+	/**
+	 * Check if a start would find a free slot and no exceeded quota. The
+	 * admission queue keeps a start waiting as long as this is FALSE.
+	 */
+	public boolean canAdmit(LibSequenceToken runnerToken, LibSequenceConfigSequence configSequence) {
+		return (getNumberOfRunningSequences() < getMaxCurrentSequences())
+				&& (findExceededQuota(runnerToken, configSequence) == null);
 	}
 
 	// Create the RunningSequence
@@ -111,10 +378,34 @@ public class LibSequenceRunManager {
 				includeManager, this);
 	}
 
+	// Inside a batch, each ConfigSequence is validated only once
+	// A sequence with errors is not remembered, so the next start fails, too
+	protected void validateSyntax(LibSequenceConfigSequence configSequence) throws LibSequenceConfigException {
+		if ((validatedSequences != null) && validatedSequences.contains(configSequence)) {
+			return;
+		}
+		configSequence.validateSyntax();
+		if (validatedSequences != null) {
+			validatedSequences.add(configSequence);
+		}
+	}
+
+	// All starts between beginBatch and endBatch are done in the same tick,
+	// so the config cannot change in between
+	protected void beginBatch() {
+		validatedSequences = new HashSet<>();
+	}
+
+	protected void endBatch() {
+		validatedSequences = null;
+	}
+
 	// Start a sequence
 	// For authorization you must provide the authorization-token
 	// The new RunningSequence-Object is included in the Result-Object
 	// We take care that the runOption object always exists
+	// This does not look at the admission queue: a free slot is taken even if
+	// queued starts are waiting. Use executeQueued to wait in line.
 	public LibSequenceRunningSequence execute(LibSequenceToken runnerToken, LibSequenceConfigSequence configSequence,
 			LibSequenceToken securityToken, LibSequenceRunOptions runOptions) throws LibSequenceRunException {
 
@@ -143,10 +434,14 @@ public class LibSequenceRunManager {
 			throw new LibSequenceRunException(sequenceName, 0, LSRERR_NOT_AUTHORIZED, null);
 		}
 
+		// Is the quota of the runner, the section or the sequence reached?
+		// Checked last, so only authorized starts count as quota rejections
+		checkQuotas(runnerToken, configSequence);
+
 		try {
 
 			// Is the syntax of the sequence correct?
-			configSequence.validateSyntax();
+			validateSyntax(configSequence);
 
 			// Are all actions authorized to run?
 			actionManager.validateAuthorization(runOptions, configSequence);
@@ -165,6 +460,41 @@ public class LibSequenceRunManager {
 
 	}
 
+	// Start a sequence, or queue the start if all slots are in use or a quota
+	// is reached. The future completes when the sequence has actually started
+	// If there is no admission queue, this is the same as execute
+	// Already queued starts are served first, so a new start cannot overtake
+	public CompletableFuture<LibSequenceRunningSequence> executeQueued(LibSequenceToken runnerToken,
+			LibSequenceConfigSequence configSequence, LibSequenceToken securityToken, LibSequenceRunOptions runOptions,
+			int priority, long timeoutMillis) {
+		if ((admissionQueue == null) || isDisabled()
+				|| (admissionQueue.isEmpty() && canAdmit(runnerToken, configSequence))) {
+			try {
+				return CompletableFuture.completedFuture(execute(runnerToken, configSequence, securityToken, runOptions));
+			} catch (LibSequenceRunException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		// Don't let an unauthorized start wait for a slot
+		if (!configSequence.isValidSecurityToken(securityToken)) {
+			return CompletableFuture.failedFuture(
+					new LibSequenceRunException(configSequence.getSequenceName(), 0, LSRERR_NOT_AUTHORIZED, null));
+		}
+
+		if (runOptions == null) {
+			runOptions = new LibSequenceRunOptions();
+		}
+		return admissionQueue.enqueue(runnerToken, configSequence, securityToken, runOptions, priority,
+				timeoutMillis);
+	}
+
+	// Queue a start which is performed on the server thread in the next tick
+	// This is the only method of the RunManager which is thread-safe
+	public CompletableFuture<LibSequenceRunningSequence> submit(LibSequenceRunSubmitter submitter) {
+		return submitQueue.submit(submitter);
+	}
+
 	// Cancel a running sequence
 	public void cancel(LibSequenceRunningSequence runningSequence) throws LibSequenceRunException {
 		if ((runningSequence.isFinished()) || (!sequences.contains(runningSequence))) {
@@ -176,12 +506,15 @@ public class LibSequenceRunManager {
 	// Cancel all running sequences with a given name
 	// This is an Admin-Function, so you will net to provide the runnerToken for
 	// verification.
-	// A cancel can remove the sequence from the list, so we must be carefull here
+	// A cancel can remove the sequence from the index, so we must be carefull here
 	public int cancelByName(LibSequenceToken runnerToken, String sequenceName) {
+		Set<LibSequenceRunningSequence> namedSequences = sequencesByName.get(sequenceName);
+		if (namedSequences == null) {
+			return 0;
+		}
 		int nrOfSequencesCancelled = 0;
-		for (LibSequenceRunningSequence myRunningSequence : new ArrayList<>(sequences)) {
-			if ((myRunningSequence.getName().equals(sequenceName)) && (myRunningSequence.isRunner(runnerToken))
-					&& (!myRunningSequence.isFinished())) {
+		for (LibSequenceRunningSequence myRunningSequence : new ArrayList<>(namedSequences)) {
+			if ((myRunningSequence.isRunner(runnerToken)) && (!myRunningSequence.isFinished())) {
 				myRunningSequence.cancel();
 				nrOfSequencesCancelled = nrOfSequencesCancelled + 1;
 			}
@@ -191,8 +524,12 @@ public class LibSequenceRunManager {
 
 	public List<LibSequenceRunningSequence> findRunningSequences(LibSequenceToken runnerToken) {
 		List<LibSequenceRunningSequence> result = new ArrayList<>();
-		for (LibSequenceRunningSequence mySequence : sequences) {
-			if ((mySequence.isRunner(runnerToken)) && (!mySequence.isFinished())) {
+		Set<LibSequenceRunningSequence> runnerSequences = sequencesByRunner.get(runnerToken);
+		if (runnerSequences == null) {
+			return result;
+		}
+		for (LibSequenceRunningSequence mySequence : runnerSequences) {
+			if (!mySequence.isFinished()) {
 				result.add(mySequence);
 			}
 		}
@@ -201,27 +538,33 @@ public class LibSequenceRunManager {
 
 	public List<LibSequenceRunningSequence> sneakRunningSequencesOwnedByMe(LibSequenceToken ownerToken) {
 		List<LibSequenceRunningSequence> result = new ArrayList<>();
-		for (LibSequenceRunningSequence mySequence : sequences) {
-			if ((mySequence.isOwner(ownerToken)) && (!mySequence.isFinished())) {
-				result.add(mySequence);
+		for (Entry<LibSequenceConfigSequence, Set<LibSequenceRunningSequence>> entry : sequencesByConfig
+				.entrySet()) {
+			if (!entry.getKey().isOwner(ownerToken)) { // Is secure because isOwner is final
+				continue;
+			}
+			for (LibSequenceRunningSequence mySequence : entry.getValue()) {
+				if (!mySequence.isFinished()) {
+					result.add(mySequence);
+				}
 			}
 		}
 		return result;
 	}
 
 	protected void onInit(LibSequenceRunningSequence runningSequence) {
-		sequences.add(runningSequence);
+		addRunningSequence(runningSequence);
 		actionManager.onInit(runningSequence);
 	}
 
 	protected void onCancel(LibSequenceRunningSequence runningSequence) {
 		actionManager.onCancel(runningSequence);
-		sequences.remove(runningSequence);
+		removeRunningSequence(runningSequence);
 	}
 
 	protected void onFinish(LibSequenceRunningSequence runningSequence) {
 		actionManager.onFinish(runningSequence);
-		sequences.remove(runningSequence);
+		removeRunningSequence(runningSequence);
 	}
 
 	protected void executeStep(LibSequenceRunningSequence runningSequence, LibSequenceConfigStep configStep)
@@ -238,8 +581,62 @@ public class LibSequenceRunManager {
 		}
 	}
 
+	// Returns MAIN_THREAD if there is no worker pool
+	protected LibSequenceActionAffinity getThreadAffinity(LibSequenceConfigStep configStep) {
+		if ((workerPool == null) || isDisabled()) {
+			return LibSequenceActionAffinity.MAIN_THREAD;
+		}
+		return actionManager.getThreadAffinity(configStep);
+	}
+
+	// Execute the step on the worker pool and report the result
+	// back to the sequence on the server thread. The error is NULL on success.
+	// The sequence must always get its result, otherwise it would wait forever.
+	protected void executeWorkerStep(LibSequenceRunningSequence runningSequence, LibSequenceConfigStep configStep,
+			LibSequenceActionAffinity affinity) {
+		String sequenceName = runningSequence.getName();
+		int stepNr = runningSequence.getStepNr();
+		workerPool.execute(affinity, () -> {
+			LibSequenceRunException stepError = null;
+			try {
+				executeStep(runningSequence, configStep);
+			} catch (LibSequenceRunException e) {
+				stepError = e;
+			} catch (Throwable t) {
+				stepError = new LibSequenceRunException(sequenceName, stepNr, new LibSequenceActionException(
+						configStep.getActionName(), LSAERR_JAVA_EXCEPTION, null, t));
+			} finally {
+				final LibSequenceRunException reportedError = stepError;
+				workerPool.runOnMainThread(() -> runningSequence.onWorkerStepDone(reportedError));
+			}
+		});
+	}
+
+	protected LibSequenceRunTimer scheduleStep(LibSequenceRunningSequence runningSequence, int waitTicks) {
+		return scheduler.schedule(runningSequence, waitTicks);
+	}
+
+	protected void dispatchScheduledStep(LibSequenceRunningSequence runningSequence) {
+		if (runBudget != null) {
+			runBudget.submit(runningSequence);
+		} else {
+			runningSequence.executeScheduledStep();
+		}
+	}
+
 	public void disable() {
 		setDisabled();
+		scheduler.disable();
+		if (runBudget != null) {
+			runBudget.disable();
+		}
+		if (admissionQueue != null) {
+			admissionQueue.disable();
+		}
+		submitQueue.disable();
+		if (workerPool != null) {
+			workerPool.disable();
+		}
 	}
 
 }
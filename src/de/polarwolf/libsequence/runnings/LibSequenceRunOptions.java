@@ -27,6 +27,7 @@ public class LibSequenceRunOptions {
 	protected Map<String, String> placeholders = new HashMap<>();
 	protected CommandSender initiator;
 	protected boolean singleton = false;
+	protected boolean specializePlaceholders = false;
 	protected LibSequenceLogger logger;
 
 	/**
@@ -36,6 +37,13 @@ public class LibSequenceRunOptions {
 		logger = new LibSequenceLoggerDefault(null);
 	}
 
+	/**
+	 * Create a new RunOption with the given Logger
+	 */
+	protected LibSequenceRunOptions(LibSequenceLogger logger) {
+		this.logger = logger;
+	}
+
 	/**
 	 * Add a Placeholder. The action can lateron call "resolvePlaceholder" to
 	 * replace a placeholder with a given value.
@@ -168,6 +176,27 @@ public class LibSequenceRunOptions {
 		this.singleton = singleton;
 	}
 
+	/**
+	 * Query if the placeholders of this runOption are folded into the step
+	 * attributes when they are used for the first time
+	 */
+	public boolean isSpecializePlaceholders() {
+		return specializePlaceholders;
+	}
+
+	/**
+	 * The placeholders of a runOption (e.g. %NAME% and %PLAYER%) don't change
+	 * while the sequence is running. If set, each attribute is specialized for
+	 * this run when it is used for the first time, so later resolves only need
+	 * to handle the dynamic placeholders. Don't change the placeholders of this
+	 * runOption after the sequence has started.
+	 *
+	 * @param specializePlaceholders TRUE to enable the specialization
+	 */
+	public void setSpecializePlaceholders(boolean specializePlaceholders) {
+		this.specializePlaceholders = specializePlaceholders;
+	}
+
 	/**
 	 * Get the locale of the initiator to prepare localized messages
 	 *
@@ -215,6 +244,7 @@ public class LibSequenceRunOptions {
 		LibSequenceRunOptions newRunOptions = new LibSequenceRunOptions();
 		newRunOptions.initiator = initiator;
 		newRunOptions.singleton = singleton;
+		newRunOptions.specializePlaceholders = specializePlaceholders;
 		newRunOptions.logger = logger;
 		for (Map.Entry<String, String> entry : placeholders.entrySet()) {
 			String attributeName = entry.getKey();
@@ -224,4 +254,17 @@ public class LibSequenceRunOptions {
 		return newRunOptions;
 	}
 
+	/**
+	 * Get a view of the current runOption with a different initiator. Unlike
+	 * getCopy the placeholders are not copied, so this is the cheaper way to
+	 * resolve placeholders for a different player than the initiator.
+	 *
+	 * @param initiator The initiator to use in the view
+	 * @return The view. Later changes of this runOption are visible in the
+	 *         view.
+	 */
+	public LibSequenceRunOptions getOverlay(CommandSender initiator) {
+		return new LibSequenceRunOptionsOverlay(this, initiator);
+	}
+
 }
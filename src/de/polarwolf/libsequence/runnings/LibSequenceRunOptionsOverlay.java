@@ -0,0 +1,95 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * A view of a runOption with a different initiator. Only the initiator and
+ * the predefined placeholders %NAME% and %PLAYER% are kept in the overlay,
+ * everything else is read from the parent runOption without copying it. This
+ * is used to resolve placeholders for a different player than the initiator,
+ * which is done once per player e.g. by <I>include_condition</I>.
+ *
+ * Placeholders added to the overlay are only visible in the overlay. The
+ * overlay doesn't include the authorizationTokens, same as
+ * {@link LibSequenceRunOptions#getCopy getCopy}.
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunOptions#getOverlay
+ *      RunOptions.getOverlay
+ */
+public class LibSequenceRunOptionsOverlay extends LibSequenceRunOptions {
+
+	protected final LibSequenceRunOptions parent;
+	protected String initiatorName = null;
+	protected String initiatorDisplayName = null;
+
+	public LibSequenceRunOptionsOverlay(LibSequenceRunOptions parent, CommandSender initiator) {
+		super(parent.getLogger());
+		this.parent = parent;
+		this.singleton = parent.isSingleton();
+		this.specializePlaceholders = parent.isSpecializePlaceholders();
+		setInitiator(initiator);
+	}
+
+	/**
+	 * Get the runOption this overlay is based on
+	 */
+	public LibSequenceRunOptions getParent() {
+		return parent;
+	}
+
+	@Override
+	public String findPlaceholder(String name) {
+		if ((initiatorName != null) && RUNOPTION_NAME.equals(name)) {
+			return initiatorName;
+		}
+		if ((initiatorDisplayName != null) && RUNOPTION_PLAYER.equals(name)) {
+			return initiatorDisplayName;
+		}
+		if (!placeholders.isEmpty()) {
+			String value = placeholders.get(name);
+			if (value != null) {
+				return value;
+			}
+		}
+		return parent.findPlaceholder(name);
+	}
+
+	@Override
+	public Set<String> listPlaceholders() {
+		Set<String> names = new HashSet<>(parent.listPlaceholders());
+		names.addAll(placeholders.keySet());
+		if (initiatorName != null) {
+			names.add(RUNOPTION_NAME);
+			names.add(RUNOPTION_PLAYER);
+		}
+		return names;
+	}
+
+	@Override
+	public void setInitiator(CommandSender initiator) {
+		this.initiator = initiator;
+		if (initiator != null) {
+			initiatorName = initiator.getName();
+			initiatorDisplayName = initiatorName;
+			if (initiator instanceof Player player) {
+				initiatorDisplayName = player.getDisplayName();
+			}
+		}
+	}
+
+	@Override
+	public LibSequenceRunOptions getCopy() {
+		LibSequenceRunOptions newRunOptions = parent.getCopy();
+		newRunOptions.singleton = singleton;
+		newRunOptions.specializePlaceholders = specializePlaceholders;
+		newRunOptions.logger = logger;
+		newRunOptions.setInitiator(initiator);
+		newRunOptions.placeholders.putAll(placeholders);
+		return newRunOptions;
+	}
+
+}
@@ -0,0 +1,70 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for the number of sequences running at the same time, in addition to
+ * the global maxCurrentSequences. A limit of 0 means unlimited.
+ *
+ * The section is the container in which a plugin publishes its sequences, so
+ * the section quota limits the sequences owned by this plugin. The runner
+ * quota limits the sequences started with the same runnerToken.
+ *
+ * @param maxPerRunner   Limit for each runnerToken
+ * @param maxPerSection  Default limit for each section
+ * @param maxPerSequence Default limit for each sequence name
+ * @param sectionQuotas  Limits for specific sections, overrides the default
+ * @param sequenceQuotas Limits for specific sequence names, overrides the
+ *                       default
+ */
+public record LibSequenceRunQuotaOptions(int maxPerRunner, int maxPerSection, int maxPerSequence,
+		Map<String, Integer> sectionQuotas, Map<String, Integer> sequenceQuotas) {
+
+	public LibSequenceRunQuotaOptions {
+		sectionQuotas = copyOf(sectionQuotas);
+		sequenceQuotas = copyOf(sequenceQuotas);
+	}
+
+	/**
+	 * Options with the same limits for all sections and sequences
+	 */
+	public LibSequenceRunQuotaOptions(int maxPerRunner, int maxPerSection, int maxPerSequence) {
+		this(maxPerRunner, maxPerSection, maxPerSequence, null, null);
+	}
+
+	private static Map<String, Integer> copyOf(Map<String, Integer> quotas) {
+		if (quotas == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(new HashMap<>(quotas));
+	}
+
+	/**
+	 * Get the limit for a section, 0 if unlimited
+	 */
+	public int findSectionQuota(String sectionName) {
+		Integer quota = sectionQuotas.get(sectionName);
+		if (quota != null) {
+			return Math.max(quota.intValue(), 0);
+		}
+		return Math.max(maxPerSection, 0);
+	}
+
+	/**
+	 * Get the limit for a sequence name, 0 if unlimited
+	 */
+	public int findSequenceQuota(String sequenceName) {
+		Integer quota = sequenceQuotas.get(sequenceName);
+		if (quota != null) {
+			return Math.max(quota.intValue(), 0);
+		}
+		return Math.max(maxPerSequence, 0);
+	}
+
+	public boolean hasSectionQuotas() {
+		return (maxPerSection > 0) || !sectionQuotas.isEmpty();
+	}
+
+}
@@ -0,0 +1,31 @@
+package de.polarwolf.libsequence.runnings;
+
+/**
+ * The scheduler wakes up a running sequence after the wait time of a step has
+ * passed. There are two implementations: One creates a Bukkit task for each
+ * single step (the classic way), the other drives all wake-ups from a single
+ * timer wheel.
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunSchedulerTask
+ *      LibSequenceRunSchedulerTask
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunSchedulerWheel
+ *      LibSequenceRunSchedulerWheel
+ */
+public interface LibSequenceRunScheduler {
+
+	/**
+	 * Schedule the next step of the given sequence
+	 *
+	 * @param runningSequence The sequence to wake up
+	 * @param waitTicks       Number of ticks to wait, must be at least 1
+	 * @return Handle to cancel the wake-up
+	 */
+	public LibSequenceRunTimer schedule(LibSequenceRunningSequence runningSequence, int waitTicks);
+
+	/**
+	 * Called when the RunManager is disabled. Pending wake-ups of sequences which
+	 * are still running must nevertheless be served.
+	 */
+	public void disable();
+
+}
@@ -0,0 +1,29 @@
+package de.polarwolf.libsequence.runnings;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Classic scheduler: Each step gets its own Bukkit runTaskLater task.
+ *
+ */
+public class LibSequenceRunSchedulerTask implements LibSequenceRunScheduler {
+
+	protected final Plugin plugin;
+
+	public LibSequenceRunSchedulerTask(Plugin plugin) {
+		this.plugin = plugin;
+	}
+
+	@Override
+	public LibSequenceRunTimer schedule(LibSequenceRunningSequence runningSequence, int waitTicks) {
+		SingleStepTask task = new SingleStepTask(runningSequence);
+		task.runTaskLater(plugin, waitTicks);
+		return task;
+	}
+
+	@Override
+	public void disable() {
+		// The Bukkit tasks finish on their own
+	}
+
+}
@@ -0,0 +1,220 @@
+package de.polarwolf.libsequence.runnings;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Drives all step wake-ups of a RunManager from one repeating Bukkit task. The
+ * pending wake-ups are kept in a hierarchical timer wheel, so scheduling and
+ * cancelling a wake-up is O(1) regardless of the number of running sequences.
+ *
+ * The root level has 256 slots with a resolution of 1 tick. Each further level
+ * has 64 slots and covers 64 times the range of the level below. Timers of the
+ * higher levels are cascaded down when the lower level wraps around. Waits
+ * beyond the range of the top level are parked there and re-inserted when they
+ * come up.
+ *
+ * The wheel is not thread-safe, it is only accessed from the server thread.
+ */
+public class LibSequenceRunSchedulerWheel implements LibSequenceRunScheduler {
+
+	protected static final int ROOT_BITS = 8;
+	protected static final int LEVEL_BITS = 6;
+	protected static final int LEVELS = 5;
+
+	protected static final int ROOT_SIZE = 1 << ROOT_BITS;
+	protected static final int ROOT_MASK = ROOT_SIZE - 1;
+	protected static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+	protected static final int LEVEL_MASK = LEVEL_SIZE - 1;
+	protected static final long MAX_DELTA = 1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+	private final WheelTimer[][] slots = new WheelTimer[LEVELS][];
+	private final BukkitTask wheelTask;
+
+	// The tick which will be processed next
+	private long nextTick = 0;
+	private int pendingTimers = 0;
+	private boolean bDisabled = false;
+
+	public LibSequenceRunSchedulerWheel(Plugin plugin) {
+		slots[0] = new WheelTimer[ROOT_SIZE];
+		for (int level = 1; level < LEVELS; level++) {
+			slots[level] = new WheelTimer[LEVEL_SIZE];
+		}
+		wheelTask = new WheelTask(this).runTaskTimer(plugin, 1, 1);
+	}
+
+	/**
+	 * Get the number of wake-ups currently waiting in the wheel
+	 */
+	public int getNumberOfPendingTimers() {
+		return pendingTimers;
+	}
+
+	@Override
+	public LibSequenceRunTimer schedule(LibSequenceRunningSequence runningSequence, int waitTicks) {
+		// Measured from the last processed tick, so a wait of 1 fires on the next
+		// turn of the wheel
+		WheelTimer timer = new WheelTimer(this, runningSequence, nextTick - 1 + Math.max(waitTicks, 1));
+		insert(timer);
+		pendingTimers = pendingTimers + 1;
+		return timer;
+	}
+
+	@Override
+	public void disable() {
+		bDisabled = true;
+		stopIfIdle();
+	}
+
+	protected void stopIfIdle() {
+		if (bDisabled && (pendingTimers == 0) && !wheelTask.isCancelled()) {
+			wheelTask.cancel();
+		}
+	}
+
+	protected void insert(WheelTimer timer) {
+		long expires = timer.deadline;
+		long delta = expires - nextTick;
+		if (delta < 0) {
+			expires = nextTick;
+			delta = 0;
+		} else if (delta >= MAX_DELTA) {
+			expires = nextTick + MAX_DELTA - 1;
+			delta = MAX_DELTA - 1;
+		}
+
+		int level;
+		int slot;
+		if (delta < ROOT_SIZE) {
+			level = 0;
+			slot = (int) (expires & ROOT_MASK);
+		} else {
+			level = 1;
+			int shift = ROOT_BITS;
+			while (delta >= (1L << (shift + LEVEL_BITS))) {
+				level = level + 1;
+				shift = shift + LEVEL_BITS;
+			}
+			slot = (int) ((expires >>> shift) & LEVEL_MASK);
+		}
+
+		WheelTimer head = slots[level][slot];
+		timer.level = level;
+		timer.slot = slot;
+		timer.prev = null;
+		timer.next = head;
+		if (head != null) {
+			head.prev = timer;
+		}
+		slots[level][slot] = timer;
+	}
+
+	protected void unlink(WheelTimer timer) {
+		if (timer.level < 0) {
+			return;
+		}
+		if (timer.prev != null) {
+			timer.prev.next = timer.next;
+		} else {
+			slots[timer.level][timer.slot] = timer.next;
+		}
+		if (timer.next != null) {
+			timer.next.prev = timer.prev;
+		}
+		timer.prev = null;
+		timer.next = null;
+		timer.level = -1;
+	}
+
+	protected void cancel(WheelTimer timer) {
+		if (timer.level < 0) {
+			return;
+		}
+		unlink(timer);
+		pendingTimers = pendingTimers - 1;
+	}
+
+	// Move all timers of a higher-level slot down to the lower levels
+	protected int cascade(int level, long tick) {
+		int shift = ROOT_BITS + (level - 1) * LEVEL_BITS;
+		int slot = (int) ((tick >>> shift) & LEVEL_MASK);
+		WheelTimer timer = slots[level][slot];
+		slots[level][slot] = null;
+		while (timer != null) {
+			WheelTimer next = timer.next;
+			insert(timer);
+			timer = next;
+		}
+		return slot;
+	}
+
+	protected void onTick() {
+		long tick = nextTick;
+		int index = (int) (tick & ROOT_MASK);
+		if (index == 0) {
+			for (int level = 1; level < LEVELS; level++) {
+				if (cascade(level, tick) != 0) {
+					break;
+				}
+			}
+		}
+		nextTick = tick + 1;
+
+		WheelTimer timer;
+		while ((timer = slots[0][index]) != null) {
+			unlink(timer);
+			if (timer.deadline > tick) {
+				// Parked timer from beyond the top level
+				insert(timer);
+				continue;
+			}
+			pendingTimers = pendingTimers - 1;
+			timer.runningSequence.handleScheduledStep();
+		}
+
+		stopIfIdle();
+	}
+
+	private static final class WheelTimer implements LibSequenceRunTimer {
+
+		private final LibSequenceRunSchedulerWheel wheel;
+		private final LibSequenceRunningSequence runningSequence;
+		private final long deadline;
+
+		private WheelTimer prev = null;
+		private WheelTimer next = null;
+		private int level = -1;
+		private int slot = 0;
+
+		private WheelTimer(LibSequenceRunSchedulerWheel wheel, LibSequenceRunningSequence runningSequence,
+				long deadline) {
+			this.wheel = wheel;
+			this.runningSequence = runningSequence;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void cancel() {
+			wheel.cancel(this);
+		}
+
+	}
+
+	private static final class WheelTask extends BukkitRunnable {
+
+		private final LibSequenceRunSchedulerWheel wheel;
+
+		private WheelTask(LibSequenceRunSchedulerWheel wheel) {
+			this.wheel = wheel;
+		}
+
+		@Override
+		public void run() {
+			wheel.onTick();
+		}
+
+	}
+
+}
@@ -0,0 +1,176 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot of the load of a RunManager, e.g. for the "/sequence status"
+ * command. The values are filled by the RunManager, so new values can be added
+ * without breaking the callers.
+ */
+public class LibSequenceRunStatus {
+
+	private final int runningSequences;
+	private final int maxRunningSequences;
+
+	private long budgetNanos = 0;
+	private int deferredSteps = 0;
+	private int maxDeferredSteps = 0;
+	private long deferrals = 0;
+	private long exhaustedTicks = 0;
+
+	private int queueSize = 0;
+	private int queuedStarts = 0;
+	private int maxQueuedStarts = 0;
+	private long admittedStarts = 0;
+	private long timedOutStarts = 0;
+	private long rejectedStarts = 0;
+
+	private LibSequenceRunQuotaOptions quotaOptions = null;
+	private long quotaRejections = 0;
+	private Map<String, Integer> runningBySection = Collections.emptyMap();
+
+	protected LibSequenceRunStatus(int runningSequences, int maxRunningSequences) {
+		this.runningSequences = runningSequences;
+		this.maxRunningSequences = maxRunningSequences;
+	}
+
+	/**
+	 * Get the number of currently running sequences
+	 */
+	public int getRunningSequences() {
+		return runningSequences;
+	}
+
+	public int getMaxRunningSequences() {
+		return maxRunningSequences;
+	}
+
+	/**
+	 * Get the time budget per tick, 0 if unlimited
+	 */
+	public long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	/**
+	 * Get the number of steps currently waiting for the next tick
+	 */
+	public int getDeferredSteps() {
+		return deferredSteps;
+	}
+
+	/**
+	 * Get the highest number of steps waiting at the same time
+	 */
+	public int getMaxDeferredSteps() {
+		return maxDeferredSteps;
+	}
+
+	/**
+	 * Get the number of times a step was carried over to the next tick
+	 */
+	public long getDeferrals() {
+		return deferrals;
+	}
+
+	/**
+	 * Get the number of ticks in which the budget was used up
+	 */
+	public long getExhaustedTicks() {
+		return exhaustedTicks;
+	}
+
+	protected void setBudget(long budgetNanos, int deferredSteps, int maxDeferredSteps, long deferrals,
+			long exhaustedTicks) {
+		this.budgetNanos = budgetNanos;
+		this.deferredSteps = deferredSteps;
+		this.maxDeferredSteps = maxDeferredSteps;
+		this.deferrals = deferrals;
+		this.exhaustedTicks = exhaustedTicks;
+	}
+
+	/**
+	 * Get the size of the admission queue, 0 if starts are rejected when all
+	 * slots are in use
+	 */
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	/**
+	 * Get the number of starts currently waiting for a free slot
+	 */
+	public int getQueuedStarts() {
+		return queuedStarts;
+	}
+
+	/**
+	 * Get the highest number of starts waiting at the same time
+	 */
+	public int getMaxQueuedStarts() {
+		return maxQueuedStarts;
+	}
+
+	/**
+	 * Get the number of queued starts which were admitted
+	 */
+	public long getAdmittedStarts() {
+		return admittedStarts;
+	}
+
+	/**
+	 * Get the number of queued starts which waited too long
+	 */
+	public long getTimedOutStarts() {
+		return timedOutStarts;
+	}
+
+	/**
+	 * Get the number of starts rejected because the queue was full
+	 */
+	public long getRejectedStarts() {
+		return rejectedStarts;
+	}
+
+	protected void setAdmission(int queueSize, int queuedStarts, int maxQueuedStarts, long admittedStarts,
+			long timedOutStarts, long rejectedStarts) {
+		this.queueSize = queueSize;
+		this.queuedStarts = queuedStarts;
+		this.maxQueuedStarts = maxQueuedStarts;
+		this.admittedStarts = admittedStarts;
+		this.timedOutStarts = timedOutStarts;
+		this.rejectedStarts = rejectedStarts;
+	}
+
+	/**
+	 * Get the quotas, NULL if only the global maximum is enforced
+	 */
+	public LibSequenceRunQuotaOptions getQuotaOptions() {
+		return quotaOptions;
+	}
+
+	/**
+	 * Get the number of starts rejected because a quota was reached
+	 */
+	public long getQuotaRejections() {
+		return quotaRejections;
+	}
+
+	/**
+	 * Get the number of running sequences per section, only counted if quotas
+	 * are set
+	 */
+	public Map<String, Integer> getRunningBySection() {
+		return runningBySection;
+	}
+
+	protected void setQuotas(LibSequenceRunQuotaOptions quotaOptions, long quotaRejections,
+			Map<String, Integer> runningBySection) {
+		this.quotaOptions = quotaOptions;
+		this.quotaRejections = quotaRejections;
+		this.runningBySection = Collections.unmodifiableMap(new HashMap<>(runningBySection));
+	}
+
+}
@@ -0,0 +1,124 @@
+package de.polarwolf.libsequence.runnings;
+
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_DISABLED;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Collects sequence starts from other threads, e.g. database callbacks or web
+ * hooks. The RunManager and the directories are not thread-safe, so the starts
+ * are queued and performed at the beginning of the next tick on the server
+ * thread. All starts which came in until then are performed as one batch, so
+ * each sequence is validated only once per tick.
+ *
+ * The caller gets a CompletableFuture which completes with the
+ * RunningSequence when the sequence has started. Please note that the future
+ * completes on the server thread, so the continuation stages run there, too.
+ *
+ * submit is the only method which can be called from any thread.
+ */
+public class LibSequenceRunSubmitQueue {
+
+	protected final Plugin plugin;
+	protected final LibSequenceRunManager runManager;
+	protected final Queue<Submission> submissions = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean bDrainScheduled = new AtomicBoolean(false);
+
+	private volatile boolean bDisabled = false;
+
+	public LibSequenceRunSubmitQueue(Plugin plugin, LibSequenceRunManager runManager) {
+		this.plugin = plugin;
+		this.runManager = runManager;
+	}
+
+	/**
+	 * Get the number of submitted starts which are waiting for the next tick
+	 */
+	public int getNumberOfSubmittedStarts() {
+		return submissions.size();
+	}
+
+	/**
+	 * Queue a sequence start. Can be called from any thread.
+	 */
+	public CompletableFuture<LibSequenceRunningSequence> submit(LibSequenceRunSubmitter submitter) {
+		CompletableFuture<LibSequenceRunningSequence> future = new CompletableFuture<>();
+		submissions.add(new Submission(submitter, future));
+		if (bDisabled) {
+			failSubmissions();
+		} else {
+			scheduleDrain();
+		}
+		return future;
+	}
+
+	public void disable() {
+		bDisabled = true;
+		failSubmissions();
+	}
+
+	// If the plugin is already disabled, no task can be scheduled anymore
+	protected void scheduleDrain() {
+		if (!bDrainScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			Bukkit.getScheduler().runTask(plugin, this::drain);
+		} catch (IllegalPluginAccessException e) {
+			bDrainScheduled.set(false);
+			failSubmissions();
+		}
+	}
+
+	protected void failSubmissions() {
+		Submission submission = submissions.poll();
+		while (submission != null) {
+			submission.future().completeExceptionally(new LibSequenceRunException(null, 0, LSRERR_DISABLED, null));
+			submission = submissions.poll();
+		}
+	}
+
+	// A cancelled future means the caller has withdrawn the start
+	protected void start(Submission submission) {
+		if (submission.future().isDone()) {
+			return;
+		}
+		try {
+			submission.future().complete(submission.submitter().start());
+		} catch (Exception e) {
+			submission.future().completeExceptionally(e);
+		}
+	}
+
+	// The flag is reset before draining, so a start submitted while we are
+	// draining schedules a new drain. Worst case this drain finds an empty queue.
+	protected void drain() {
+		bDrainScheduled.set(false);
+		if (bDisabled) {
+			failSubmissions();
+			return;
+		}
+		runManager.beginBatch();
+		try {
+			Submission submission = submissions.poll();
+			while (submission != null) {
+				start(submission);
+				submission = submissions.poll();
+			}
+		} finally {
+			runManager.endBatch();
+		}
+	}
+
+	protected record Submission(LibSequenceRunSubmitter submitter,
+			CompletableFuture<LibSequenceRunningSequence> future) {
+	}
+
+}
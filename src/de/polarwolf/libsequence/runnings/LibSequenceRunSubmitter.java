@@ -0,0 +1,21 @@
+package de.polarwolf.libsequence.runnings;
+
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+/**
+ * A sequence start which was submitted from any thread. The start itself is
+ * performed later on the server thread.
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunSubmitQueue
+ *      SubmitQueue
+ */
+@FunctionalInterface
+public interface LibSequenceRunSubmitter {
+
+	/**
+	 * Start the sequence. Called on the server thread, so it can use all
+	 * sequencer and directory functions.
+	 */
+	public LibSequenceRunningSequence start() throws LibSequenceException;
+
+}
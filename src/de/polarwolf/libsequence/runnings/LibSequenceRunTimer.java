@@ -0,0 +1,18 @@
+package de.polarwolf.libsequence.runnings;
+
+/**
+ * Handle for a pending step wake-up. The RunningSequence gets it from the
+ * scheduler and uses it to cancel the wait if the sequence is cancelled.
+ *
+ * @see de.polarwolf.libsequence.runnings.LibSequenceRunScheduler
+ *      LibSequenceRunScheduler
+ */
+public interface LibSequenceRunTimer {
+
+	/**
+	 * Cancel the pending wake-up. Calling it on a timer which has already fired
+	 * must not do any harm.
+	 */
+	public void cancel();
+
+}
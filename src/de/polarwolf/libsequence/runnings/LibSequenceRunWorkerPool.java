@@ -0,0 +1,79 @@
+package de.polarwolf.libsequence.runnings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+
+import de.polarwolf.libsequence.actions.LibSequenceActionAffinity;
+
+/**
+ * Executes the steps of thread-safe actions outside of the server thread.
+ * ANY_THREAD steps run on a small pool of our own threads, ASYNC_IO steps can
+ * block and therefore run on Bukkit's async scheduler. When the step is done,
+ * the result is handed back to the server thread.
+ *
+ * @see de.polarwolf.libsequence.actions.LibSequenceActionAffinity
+ *      ActionAffinity
+ */
+public class LibSequenceRunWorkerPool {
+
+	protected final Plugin plugin;
+	protected final int workerThreads;
+	protected final ExecutorService workerExecutor;
+
+	public LibSequenceRunWorkerPool(Plugin plugin, int workerThreads) {
+		this.plugin = plugin;
+		this.workerThreads = workerThreads;
+		this.workerExecutor = Executors.newFixedThreadPool(workerThreads, new WorkerThreadFactory(plugin.getName()));
+	}
+
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	public void execute(LibSequenceActionAffinity affinity, Runnable job) {
+		if (affinity == LibSequenceActionAffinity.ASYNC_IO) {
+			Bukkit.getScheduler().runTaskAsynchronously(plugin, job);
+		} else {
+			workerExecutor.execute(job);
+		}
+	}
+
+	// During shutdown no task can be scheduled anymore,
+	// but then the sequences are discarded anyway
+	public void runOnMainThread(Runnable job) {
+		try {
+			Bukkit.getScheduler().runTask(plugin, job);
+		} catch (IllegalPluginAccessException e) {
+			// Nothing to do
+		}
+	}
+
+	public void disable() {
+		workerExecutor.shutdown();
+	}
+
+	private static final class WorkerThreadFactory implements ThreadFactory {
+
+		private final String namePrefix;
+		private final AtomicInteger threadNr = new AtomicInteger(0);
+
+		private WorkerThreadFactory(String pluginName) {
+			this.namePrefix = pluginName + "-Worker-";
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, namePrefix + threadNr.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -1,7 +1,13 @@
 package de.polarwolf.libsequence.runnings;
 
+import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_JAVA_EXCEPTION;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
@@ -10,13 +16,20 @@ import org.bukkit.plugin.Plugin;
 //
 // A RunningSequence is a sequence which is currently executed
 
-import org.bukkit.scheduler.BukkitTask;
-
+import de.polarwolf.libsequence.actions.LibSequenceActionAffinity;
 import de.polarwolf.libsequence.checks.LibSequenceCheckException;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionExpression;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionResolver;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionValue;
+import de.polarwolf.libsequence.config.LibSequenceConfigCompiledStep;
 import de.polarwolf.libsequence.config.LibSequenceConfigSequence;
 import de.polarwolf.libsequence.config.LibSequenceConfigStep;
+import de.polarwolf.libsequence.exception.LibSequenceException;
 import de.polarwolf.libsequence.includes.LibSequenceIncludeException;
 import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderException;
+import de.polarwolf.libsequence.placeholders.LibSequencePlaceholderTemplate;
+import de.polarwolf.libsequence.players.LibSequencePlayerState;
+import de.polarwolf.libsequence.players.LibSequenceTargetSet;
 import de.polarwolf.libsequence.token.LibSequenceToken;
 
 /**
@@ -33,15 +46,25 @@ public class LibSequenceRunningSequence {
 
 	protected final Plugin plugin;
 
-	protected boolean bCancel = false;
-	protected boolean bFinish = false;
+	// A worker step can read and set these flags from another thread
+	protected volatile boolean bCancel = false;
+	protected volatile boolean bFinish = false;
 	protected int step = 0;
 
+	// A step is executed outside of the server thread. The sequence waits until
+	// the step is done before it continues or ends.
+	protected volatile boolean bWorkerStepRunning = false;
+	protected boolean bWakeupPending = false;
+
 	// Not static because we must cleanup reference after sequence is done
 	// to let java destroy the manager-objects on dispose
 	protected LibSequenceRunHelper runHelper;
 
-	protected BukkitTask currentTask = null;
+	protected LibSequenceRunTimer currentTask = null;
+
+	// Templates with the placeholders of the runOptions already folded in,
+	// NULL if the specialization is disabled
+	protected final Map<LibSequencePlaceholderTemplate, LibSequencePlaceholderTemplate> specializedTemplates;
 
 	public LibSequenceRunningSequence(Plugin plugin, LibSequenceRunManager runManager, LibSequenceToken runnerToken,
 			LibSequenceConfigSequence configSequence, LibSequenceRunOptions runOptions) {
@@ -50,6 +73,11 @@ public class LibSequenceRunningSequence {
 		this.runnerToken = runnerToken;
 		this.configSequence = configSequence;
 		this.runOptions = runOptions;
+		if (runOptions.isSpecializePlaceholders() || runHelper.isSpecializePlaceholders()) {
+			specializedTemplates = Collections.synchronizedMap(new IdentityHashMap<>());
+		} else {
+			specializedTemplates = null;
+		}
 		onInit();
 		currentTask = createScheduledTask(1);
 	}
@@ -124,6 +152,23 @@ public class LibSequenceRunningSequence {
 		return resolvedText;
 	}
 
+	/**
+	 * forward this request to the runHelper
+	 */
+	public String resolvePlaceholder(String attributeName, LibSequencePlaceholderTemplate template)
+			throws LibSequencePlaceholderException {
+		if ((specializedTemplates != null) && (template != null) && template.hasMarkers()) {
+			template = specializedTemplates.computeIfAbsent(template,
+					t -> runHelper.specializeTemplate(t, runOptions));
+		}
+		String resolvedText = runHelper.resolvePlaceholder(template, runOptions);
+		// A template without any % sign cannot produce a placeholder warning
+		if ((template != null) && template.hasMarkers() && runHelper.containsPlaceholder(resolvedText)) {
+			runOptions.getLogger().onPlaceholderWarn(this, attributeName, resolvedText);
+		}
+		return resolvedText;
+	}
+
 	/**
 	 * forward this request to the runHelper
 	 */
@@ -132,11 +177,28 @@ public class LibSequenceRunningSequence {
 		return runHelper.resolvePlaceholderForOtherPlayer(messageText, runOptions, player);
 	}
 
+	/**
+	 * forward this request to the runHelper
+	 */
+	public String resolvePlaceholderForOtherPlayer(LibSequencePlaceholderTemplate template, Player player)
+			throws LibSequencePlaceholderException {
+		return runHelper.resolvePlaceholderForOtherPlayer(template, runOptions, player);
+	}
+
 	/**
 	 * Resolve placeholders and respects the initiator's locale
 	 */
 	public String findValueLocalizedAndResolvePlaceholder(LibSequenceConfigStep configStep, String attributeName,
 			CommandSender target) throws LibSequencePlaceholderException {
+		LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+		if (compiledStep != null) {
+			String locale = null;
+			if (target instanceof Player player) {
+				locale = player.getLocale();
+			}
+			return resolvePlaceholder(attributeName, compiledStep.findTemplateLocalized(attributeName, locale));
+		}
+
 		String messageText;
 		if (target instanceof Player player) {
 			messageText = configStep.findValueLocalized(attributeName, player.getLocale());
@@ -154,6 +216,28 @@ public class LibSequenceRunningSequence {
 		return runHelper.resolveCondition(conditionText, this);
 	}
 
+	/**
+	 * forward this request to the runHelper
+	 */
+	public LibSequenceConditionExpression compileCondition(String conditionText) {
+		return runHelper.compileCondition(conditionText);
+	}
+
+	/**
+	 * forward this request to the runHelper
+	 */
+	public LibSequenceConditionValue evaluateCondition(LibSequenceConditionExpression expression,
+			LibSequenceConditionResolver resolver) throws LibSequenceException {
+		return runHelper.evaluateCondition(expression, resolver, this);
+	}
+
+	/**
+	 * forward this request to the runHelper
+	 */
+	public boolean resolveCondition(LibSequenceConditionValue conditionValue) {
+		return runHelper.resolveCondition(conditionValue, this);
+	}
+
 	// Gateway to CheckManager
 	/**
 	 * forward this request to the runHelper
@@ -170,6 +254,36 @@ public class LibSequenceRunningSequence {
 		return runHelper.performIncludes(configStep);
 	}
 
+	/**
+	 * forward this request to the runHelper
+	 */
+	public LibSequenceTargetSet performIncludeTargets(LibSequenceConfigStep configStep)
+			throws LibSequenceIncludeException {
+		return runHelper.performIncludeTargets(configStep);
+	}
+
+	// Gateway to PlayerManager
+	/**
+	 * forward this request to the runHelper
+	 */
+	public LibSequencePlayerState getPlayerState(Player player) {
+		return runHelper.getPlayerState(player);
+	}
+
+	/**
+	 * forward this request to the runHelper
+	 */
+	public boolean hasPermissionIndex() {
+		return runHelper.hasPermissionIndex();
+	}
+
+	/**
+	 * forward this request to the runHelper
+	 */
+	public LibSequenceTargetSet findPermissionTargets(String permission) {
+		return runHelper.findPermissionTargets(permission);
+	}
+
 	/**
 	 * Report a failed check to the logger
 	 */
@@ -216,22 +330,76 @@ public class LibSequenceRunningSequence {
 	}
 
 	/**
-	 * Start the Bukkit scheduler for the wait-step
+	 * Let the RunManager's scheduler wake us up after the wait-step
+	 */
+	protected LibSequenceRunTimer createScheduledTask(int wait) {
+		return runHelper.scheduleStep(wait);
+	}
+
+	/**
+	 * Called by the scheduler when the wait time is over. The RunManager decides
+	 * if the step is executed now or carried over to the next tick.
+	 */
+	final void handleScheduledStep() {
+		if (runHelper != null) {
+			runHelper.dispatchScheduledStep();
+		} else {
+			executeScheduledStep();
+		}
+	}
+
+	/**
+	 * Execute the next step. A broken step must not take down the scheduler, so
+	 * every exception ends here.
 	 */
-	protected BukkitTask createScheduledTask(int wait) {
-		SingleStepTask task = new SingleStepTask(this);
-		return task.runTaskLater(plugin, wait);
+	final void executeScheduledStep() {
+		try {
+			handleNextStep();
+		} catch (Exception e) {
+			LibSequenceRunException lse = new LibSequenceRunException(getName(), getStepNr(), LSRERR_JAVA_EXCEPTION,
+					null, e);
+			onExecutionError(lse);
+			cancel();
+		}
+	}
+
+	/**
+	 * Called on the server thread when a step executed outside of the server
+	 * thread is done. If the wait time of the step is already over, the sequence
+	 * continues now.
+	 */
+	final void onWorkerStepDone(LibSequenceRunException stepError) {
+		bWorkerStepRunning = false;
+		if (bFinish) {
+			return;
+		}
+		if (stepError != null) {
+			onExecutionError(stepError);
+		}
+		if (isCancelled()) {
+			cancel();
+			return;
+		}
+		if (bWakeupPending) {
+			bWakeupPending = false;
+			handleScheduledStep();
+		}
 	}
 
 	/**
 	 * Cancel the sequence execution. A cancel must always be possible, so no return
-	 * value here.
+	 * value here. If a step is running outside of the server thread, the sequence
+	 * ends when the step is done. Outside of the server thread the cancel is only
+	 * flagged, the cleanup is always done on the server thread.
 	 */
 	public void cancel() {
 		if (bFinish) {
 			return;
 		}
 		bCancel = true;
+		if (bWorkerStepRunning || !Bukkit.isPrimaryThread()) {
+			return;
+		}
 
 		// Yes, this is useless because if the task does not exists
 		// the cancel() creates an exception which is handled by the "finally",
@@ -249,14 +417,35 @@ public class LibSequenceRunningSequence {
 		}
 	}
 
+	/**
+	 * Get the wait after the step in ticks. A wait of 0 seconds means "next tick".
+	 */
+	protected int getWaitTicks(LibSequenceConfigStep configStep) {
+		LibSequenceConfigCompiledStep compiledStep = configStep.getCompiledStep();
+		if (compiledStep != null) {
+			return compiledStep.getWaitTicks();
+		}
+		int wait = configStep.getWait();
+		if (wait == 0) {
+			return 1;
+		}
+		return wait * TICKS_PER_SECOND;
+	}
+
 	/**
 	 * Handle the next sequence-step in sequence execution
 	 */
 	protected void handleNextStep() {
 
-		// Cleanup the reference to the Bukkit runTasLater object
+		// Cleanup the reference to the scheduler's timer object
 		currentTask = null;
 
+		// The previous step is still running outside of the server thread
+		if (bWorkerStepRunning) {
+			bWakeupPending = true;
+			return;
+		}
+
 		// check if sequence is cancelled during sleep
 		if (isCancelled() || isFinished()) {
 			handleEndOfSequence();
@@ -273,6 +462,22 @@ public class LibSequenceRunningSequence {
 		// Execute action
 		LibSequenceConfigStep configStep = configSequence.getStep(step);
 		runOptions.getLogger().debugSequenceStepReached(this, configStep);
+
+		// The wait time starts now, so a worker step runs in parallel to the wait
+		LibSequenceActionAffinity affinity = runHelper.getThreadAffinity(configStep);
+		if (affinity != LibSequenceActionAffinity.MAIN_THREAD) {
+			int waitTicks = getWaitTicks(configStep);
+			bWorkerStepRunning = true;
+			try {
+				runHelper.executeWorkerStep(configStep, affinity);
+			} catch (RuntimeException e) {
+				bWorkerStepRunning = false;
+				throw e;
+			}
+			currentTask = createScheduledTask(waitTicks);
+			return;
+		}
+
 		try {
 			executeStep(configStep);
 		} catch (LibSequenceRunException e) {
@@ -287,13 +492,7 @@ public class LibSequenceRunningSequence {
 		}
 
 		// Prepare for next step
-		int wait = configStep.getWait();
-		if (wait == 0) {
-			wait = 1;
-		} else {
-			wait = wait * TICKS_PER_SECOND;
-		}
-		currentTask = createScheduledTask(wait);
+		currentTask = createScheduledTask(getWaitTicks(configStep));
 	}
 
 	/**
@@ -1,7 +1,5 @@
 package de.polarwolf.libsequence.runnings;
 
-import static de.polarwolf.libsequence.runnings.LibSequenceRunErrors.LSRERR_JAVA_EXCEPTION;
-
 import org.bukkit.scheduler.BukkitRunnable;
 
 // This class is supposed to be final
@@ -11,7 +9,7 @@ import org.bukkit.scheduler.BukkitRunnable;
  * Bukkit wait
  *
  */
-public final class SingleStepTask extends BukkitRunnable {
+public final class SingleStepTask extends BukkitRunnable implements LibSequenceRunTimer {
 
 	private LibSequenceRunningSequence sequence;
 
@@ -21,14 +19,7 @@ public final class SingleStepTask extends BukkitRunnable {
 
 	@Override
 	public void run() {
-		try {
-			sequence.handleNextStep();
-		} catch (Exception e) {
-			LibSequenceRunException lse = new LibSequenceRunException(sequence.getName(), sequence.getStepNr(),
-					LSRERR_JAVA_EXCEPTION, null, e);
-			sequence.onExecutionError(lse);
-			sequence.cancel();
-		}
+		sequence.handleScheduledStep();
 	}
 
 }
@@ -0,0 +1,44 @@
+package de.polarwolf.libsequence.conditions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.polarwolf.libsequence.conditions.LibSequenceConditionNode.Binary;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionNode.Literal;
+import de.polarwolf.libsequence.conditions.LibSequenceConditionNode.Operator;
+import de.polarwolf.libsequence.exception.LibSequenceException;
+
+class LibSequenceConditionParserTest {
+
+	@Test
+	void hyphenatedWorldNameIsOneWord() {
+		LibSequenceConditionNode root = LibSequenceConditionParser.parse("my-world");
+		Literal literal = assertInstanceOf(Literal.class, root);
+		assertEquals("my-world", literal.value().getText());
+	}
+
+	@Test
+	void slashInWordIsOneWord() {
+		LibSequenceConditionNode root = LibSequenceConditionParser.parse("world_the_end/foo");
+		Literal literal = assertInstanceOf(Literal.class, root);
+		assertEquals("world_the_end/foo", literal.value().getText());
+	}
+
+	@Test
+	void hyphenatedWorldNameIsComparedAsText() throws LibSequenceException {
+		LibSequenceConditionExpression expression = LibSequenceConditionExpression.compile("my-world == my-world");
+		assertTrue(expression.evaluate(null).getBoolean());
+	}
+
+	@Test
+	void numbersAreStillSubtracted() throws LibSequenceException {
+		LibSequenceConditionNode root = LibSequenceConditionParser.parse("10-4");
+		Binary binary = assertInstanceOf(Binary.class, root);
+		assertEquals(Operator.SUBTRACT, binary.operator());
+		assertEquals(6, binary.evaluate(null).getNumber());
+	}
+
+}